@@ -0,0 +1,105 @@
+package study.querydsl.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지연 로딩 batch fetch 비교 (statements / ops = 회원 1000명당 SQL 수)
+ * - batchFetchSize=1 : 배치 없음 → 회원 조회 1 + 팀 1000 (O(n))
+ * - batchFetchSize=100 : 회원 조회 1 + 팀 10 (O(n / batch))
+ * - loadTeams : batch fetch 설정과 상관없이 명시적으로 팀을 IN 조회
+ * 2차 캐시는 끄고 측정한다. (팀 캐시 hit 로 SQL 이 줄어드는 효과와 섞이지 않도록)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchFetchBenchmark {
+
+    private static final int MEMBERS = 1_000;
+
+    @Param({"1", "100"})
+    int batchFetchSize;
+
+    ConfigurableApplicationContext context;
+    MemberJpaRepository memberJpaRepository;
+    TransactionTemplate readOnlyTx;
+    EntityManager em;
+    Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("batch-fetch-" + batchFetchSize,
+                "--member.batch-fetch-size=" + batchFetchSize,
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        // 팀을 회원 수만큼 만들어서 회원마다 다른 팀 프록시를 갖도록 함
+        BenchmarkContext.loadMembers(context.getBean(DataSource.class), MEMBERS, MEMBERS);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+        em = context.getBean(EntityManager.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int memberTeams(StatementCounter counter) {
+        return counter.count(statistics, () -> readOnlyTx.execute(status ->
+                teamNameLength(memberJpaRepository.findAll())));
+    }
+
+    @Benchmark
+    public int memberTeamsWithLoadTeams(StatementCounter counter) {
+        return counter.count(statistics, () -> readOnlyTx.execute(status -> {
+            List<Member> members = memberJpaRepository.findAll();
+            memberJpaRepository.loadTeams(members);
+            return teamNameLength(members);
+        }));
+    }
+
+    @Benchmark
+    public int teamMembers(StatementCounter counter) {
+        return counter.count(statistics, () -> readOnlyTx.execute(status -> {
+            List<Team> teams = em.createQuery("select t from Team t", Team.class).getResultList();
+            int size = 0;
+            for (Team team : teams) {
+                size += team.getMembers().size();
+            }
+            return size;
+        }));
+    }
+
+    private static int teamNameLength(List<Member> members) {
+        int length = 0;
+        for (Member member : members) {
+            length += member.getTeam().getName().length();
+        }
+        return length;
+    }
+}
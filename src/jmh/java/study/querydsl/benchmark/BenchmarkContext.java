@@ -0,0 +1,60 @@
+package study.querydsl.benchmark;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.QuerydslApplication;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 벤치마크용 스프링 컨텍스트.
+ * - 벤치마크마다 별도의 메모리 H2 를 사용한다.
+ * - 나머지 설정(SQL 로그/샘플링 SQL 로그 끔, 검색 결과 캐시 끔, 웹 서버 없음)은 bench 프로필 (src/jmh/resources/application-bench.yml)
+ */
+public final class BenchmarkContext {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName, String... extraArgs) {
+        List<String> args = new ArrayList<>(Arrays.asList(
+                "--spring.profiles.active=bench",
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1"
+        ));
+        args.addAll(Arrays.asList(extraArgs));
+        return new SpringApplicationBuilder(QuerydslApplication.class)
+                .run(args.toArray(new String[0]));
+    }
+
+    /**
+     * 엔티티를 거치지 않고 JDBC batch 로 team 과 member 를 채운다.
+     * member 는 팀에 고르게 나눠서 들어가고, id 는 1 부터 순서대로 부여된다.
+     */
+    public static void loadMembers(DataSource dataSource, int teams, int members) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        List<Object[]> teamRows = new ArrayList<>();
+        for (int i = 1; i <= teams; i++) {
+            teamRows.add(new Object[]{(long) i, "team" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into team (team_id, name) values (?, ?)", teamRows);
+
+        List<Object[]> memberRows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= members; i++) {
+            memberRows.add(new Object[]{(long) i, "member" + i, i % 100, (long) (i % teams) + 1});
+            if (memberRows.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)", memberRows);
+                memberRows.clear();
+            }
+        }
+        if (!memberRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)", memberRows);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package study.querydsl.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.support.MemberBinaryCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List&lt;MemberTeamDto&gt; 인코딩/디코딩 처리량 비교 (JSON vs MemberBinaryCodec)
+ * - *Encode : 직렬화, bytes / ops 로 크기 비교
+ * - *Decode : 미리 인코딩한 바이트를 DTO 목록으로 복원
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BinaryCodecBenchmark {
+
+    private static final TypeReference<List<MemberTeamDto>> MEMBER_TEAM_DTO_LIST = new TypeReference<>() {
+    };
+
+    @Param({"200", "10000"})
+    int size;
+
+    ObjectMapper objectMapper;
+    List<MemberTeamDto> rows;
+    ByteArrayOutputStream out;
+    byte[] json;
+    byte[] binary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // MemberTeamDto 는 기본 생성자가 없으므로 파라미터 이름으로 생성자를 찾도록 (스프링 부트 기본 설정과 동일)
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new ParameterNamesModule())
+                .build();
+        rows = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            long teamId = i % 10 + 1;
+            rows.add(new MemberTeamDto((long) i, "member" + i, i % 100, teamId, "team" + teamId));
+        }
+        out = new ByteArrayOutputStream(size * 64);
+
+        json = objectMapper.writeValueAsBytes(rows);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        MemberBinaryCodec.encode(rows, encoded);
+        binary = encoded.toByteArray();
+    }
+
+    @Benchmark
+    public int jsonEncode(PayloadCounter counter) throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, rows);
+        counter.add(out.size());
+        return out.size();
+    }
+
+    @Benchmark
+    public int binaryEncode(PayloadCounter counter) throws IOException {
+        out.reset();
+        MemberBinaryCodec.encode(rows, out);
+        counter.add(out.size());
+        return out.size();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> jsonDecode() throws IOException {
+        return objectMapper.readValue(json, MEMBER_TEAM_DTO_LIST);
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> binaryDecode() throws IOException {
+        return MemberBinaryCodec.decodeList(new ByteArrayInputStream(binary));
+    }
+}
@@ -0,0 +1,74 @@
+package study.querydsl.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.support.MemberColumnarJsonHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /v2/members 응답 직렬화 비교 (DB 없이 Page 하나를 직렬화)
+ * - jackson  : 기본 JSON (PageImpl 을 객체 배열 + Pageable 메타데이터로)
+ * - columnar : application/vnd.querydsl.columnar+json
+ * - bytes / ops : 응답 하나의 크기
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ColumnarJsonBenchmark {
+
+    @Param({"20", "200", "2000"})
+    int size;
+
+    ObjectMapper objectMapper;
+    MemberColumnarJsonHttpMessageConverter converter;
+    Page<MemberTeamDto> page;
+    ByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        converter = new MemberColumnarJsonHttpMessageConverter(objectMapper);
+
+        List<MemberTeamDto> content = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            long teamId = i % 10 + 1;
+            content.add(new MemberTeamDto((long) i, "member" + i, i % 100, teamId, "team" + teamId));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, size), 100_000);
+        out = new ByteArrayOutputStream(size * 128);
+    }
+
+    @Benchmark
+    public int jackson(PayloadCounter counter) throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, page);
+        counter.add(out.size());
+        return out.size();
+    }
+
+    @Benchmark
+    public int columnar(PayloadCounter counter) throws IOException {
+        out.reset();
+        converter.write(page, out);
+        counter.add(out.size());
+        return out.size();
+    }
+}
@@ -0,0 +1,41 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * 작업 도중 살아 있는 힙 크기를 JMH 보조 카운터로 보고한다. (retainedBytes, 작업 시작 전 대비 증가량)
+ * GC 후 사용량을 재므로 작업 중 원하는 시점에 sample() 을 한두 번만 호출해야 한다.
+ * SingleShotTime 모드에서 사용 (반복 1회 = 작업 1회)
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class HeapCounter {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    public long retainedBytes;
+    private long baseline;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        retainedBytes = 0;
+        baseline = usedAfterGc();
+    }
+
+    // 카운터로 인식되지 않도록 public 이 아님
+    void sample() {
+        retainedBytes = Math.max(retainedBytes, usedAfterGc() - baseline);
+    }
+
+    private static long usedAfterGc() {
+        System.gc();
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,104 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 적재 속도 비교 (rows = 초당 저장한 회원 수)
+ * - save    : 기존 방식. 한 트랜잭션에서 건마다 em.persist(), JDBC batch 끔,
+ *             시퀀스 optimizer 없음 (allocationSize=1 과 같음 → 건마다 시퀀스 조회 1번)
+ * - saveAll : JDBC batch + 정렬된 insert + 주기적인 flush()/clear() + 엔티티의 pooled 시퀀스 (allocationSize=50)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IngestionBenchmark {
+
+    @Param({"save", "saveAll"})
+    String path;
+
+    @Param({"10000", "100000"})
+    int rows;
+
+    ConfigurableApplicationContext context;
+    MemberJpaRepository memberJpaRepository;
+    TransactionTemplate transactionTemplate;
+    JdbcTemplate jdbcTemplate;
+    EntityManager em;
+    Team team;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = "save".equals(path)
+                ? BenchmarkContext.start("ingestion-save",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=1",
+                        "--spring.jpa.properties.hibernate.order_inserts=false",
+                        // 매핑의 allocationSize=50 을 무시하고 increment 1 로 동작 (건마다 next value 조회)
+                        "--spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=none")
+                : BenchmarkContext.start("ingestion-saveAll");
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+        em = context.getBean(EntityManager.class);
+
+        team = transactionTemplate.execute(status -> {
+            Team newTeam = new Team("team");
+            em.persist(newTeam);
+            return newTeam;
+        });
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.update("delete from member");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long ingest(RowCounter counter) {
+        List<Member> members = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            members.add(new Member("member" + i, i % 100, team));
+        }
+        team.getMembers().clear(); // 생성자에서 팀 컬렉션에 추가되므로 반복하면서 쌓이지 않게 비움
+
+        long saved;
+        if ("saveAll".equals(path)) {
+            saved = memberJpaRepository.saveAll(members);
+        } else {
+            saved = transactionTemplate.execute(status -> {
+                for (Member member : members) {
+                    memberJpaRepository.save(member);
+                }
+                return (long) members.size();
+            });
+        }
+        counter.rows += saved;
+        return saved;
+    }
+}
@@ -0,0 +1,28 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 직렬화 결과 크기를 JMH 보조 카운터로 보고한다.
+ * Throughput 모드에서 bytes / ops 가 응답 하나의 크기가 된다.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class PayloadCounter {
+
+    public long bytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        bytes = 0;
+    }
+
+    // 카운터로 인식되지 않도록 public 이 아님
+    void add(int size) {
+        bytes += size;
+    }
+}
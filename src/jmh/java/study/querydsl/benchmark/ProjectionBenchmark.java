@@ -0,0 +1,157 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.dto.UserDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * DTO 조회 방식별 비용 비교 (QuerydslBasicTest 의 findDtoBySetter/Field/Constructor, findDtoByQueryProjection, tupleProjection)
+ * - ops/s : 쿼리 1회(rows 건 전체 조회) 처리량
+ * - rows  : 초당 변환한 로우 수 (로우당 비용 = 1 / rows)
+ * - gc.alloc.rate.norm : 쿼리 1회당 할당 바이트 (로우당 할당 = 값 / rows)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProjectionBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int rows;
+
+    ConfigurableApplicationContext context;
+    EntityManager em;
+    JPAQueryFactory queryFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("projection" + rows);
+        BenchmarkContext.loadMembers(context.getBean(DataSource.class), 10, rows);
+        em = context.getBean(EntityManagerFactory.class).createEntityManager();
+        queryFactory = new JPAQueryFactory(em);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberDto> memberDtoBean(RowCounter counter) {
+        return counter.count(queryFactory
+                .select(Projections.bean(MemberDto.class,
+                        member.username,
+                        member.age))
+                .from(member)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberDto> memberDtoFields(RowCounter counter) {
+        return counter.count(queryFactory
+                .select(Projections.fields(MemberDto.class,
+                        member.username,
+                        member.age))
+                .from(member)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberDto> memberDtoConstructor(RowCounter counter) {
+        return counter.count(queryFactory
+                .select(Projections.constructor(MemberDto.class,
+                        member.username,
+                        member.age))
+                .from(member)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberDto> memberDtoQueryProjection(RowCounter counter) {
+        return counter.count(queryFactory
+                .select(new QMemberDto(member.username, member.age))
+                .from(member)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<Tuple> tuple(RowCounter counter) {
+        return counter.count(queryFactory
+                .select(member.username, member.age)
+                .from(member)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<UserDto> userDtoFields(RowCounter counter) {
+        return counter.count(queryFactory
+                .select(Projections.fields(UserDto.class,
+                        member.username.as("name"),
+                        member.age))
+                .from(member)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<UserDto> userDtoConstructor(RowCounter counter) {
+        return counter.count(queryFactory
+                .select(Projections.constructor(UserDto.class,
+                        member.username,
+                        member.age))
+                .from(member)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> memberTeamDtoConstructor(RowCounter counter) {
+        return counter.count(queryFactory
+                .select(Projections.constructor(MemberTeamDto.class,
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> memberTeamDtoQueryProjection(RowCounter counter) {
+        return counter.count(queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .fetch());
+    }
+}
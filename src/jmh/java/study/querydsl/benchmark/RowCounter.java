@@ -0,0 +1,31 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collection;
+
+/**
+ * 처리한 로우 수를 JMH 보조 카운터로 보고한다.
+ * Throughput 모드에서 rows 는 초당 로우 수로 출력되므로, 1 / rows 가 로우당 비용이 된다.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class RowCounter {
+
+    public long rows;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        rows = 0;
+    }
+
+    // 카운터로 인식되지 않도록 public 이 아님
+    <T extends Collection<?>> T count(T results) {
+        rows += results.size();
+        return results;
+    }
+}
@@ -0,0 +1,74 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberQueryRepository;
+import study.querydsl.repository.MemberRepository;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검색 쿼리 생성 비용 비교 (결과가 몇 건 안 되는 조건으로 측정해서 쿼리 생성 비용이 드러나게 함)
+ * - dynamic  : MemberQueryRepository.search - 요청마다 표현식 트리를 만들고 JPQL 로 직렬화
+ * - template : MemberRepository.search - shape 별로 미리 만든 쿼리를 복제하고 값만 바인딩
+ * -prof gc 의 gc.alloc.rate.norm 으로 요청당 할당량을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchQueryBenchmark {
+
+    @Param({"username", "teamName+age", "all"})
+    String shape;
+
+    ConfigurableApplicationContext context;
+    MemberQueryRepository memberQueryRepository;
+    MemberRepository memberRepository;
+    MemberSearchCondition condition;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("search");
+        BenchmarkContext.loadMembers(context.getBean(DataSource.class), 10, 1_000);
+        memberQueryRepository = context.getBean(MemberQueryRepository.class);
+        memberRepository = context.getBean(MemberRepository.class);
+
+        condition = new MemberSearchCondition();
+        if (!"teamName+age".equals(shape)) {
+            condition.setUsername("member42");
+        }
+        if (!"username".equals(shape)) {
+            condition.setTeamName("team3");
+            condition.setAgeGoe(40);
+            condition.setAgeLoe(45);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> dynamic() {
+        return memberQueryRepository.search(condition);
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> template() {
+        return memberRepository.search(condition);
+    }
+}
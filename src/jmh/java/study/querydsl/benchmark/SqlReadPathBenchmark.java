@@ -0,0 +1,72 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberQueryRepository;
+import study.querydsl.repository.MemberSqlQueryRepository;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 검색 조건으로 JPA 경로와 querydsl-sql 경로 비교
+ * - jpa : MemberQueryRepository.search - JPQL 직렬화/파싱 + 하이버네이트 결과 변환 + QMemberTeamDto
+ * - sql : MemberSqlQueryRepository.search - SQL 직렬화 + ResultSet 에서 바로 DTO 생성
+ * rows 로 결과 크기를 바꿔서 쿼리 생성 비용(작은 결과)과 row 변환 비용(큰 결과)을 나눠서 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SqlReadPathBenchmark {
+
+    @Param({"1", "1000"})
+    int rows;
+
+    ConfigurableApplicationContext context;
+    MemberQueryRepository memberQueryRepository;
+    MemberSqlQueryRepository memberSqlQueryRepository;
+    MemberSearchCondition condition;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("sql-read-path");
+        BenchmarkContext.loadMembers(context.getBean(DataSource.class), 10, 10_000);
+        memberQueryRepository = context.getBean(MemberQueryRepository.class);
+        memberSqlQueryRepository = context.getBean(MemberSqlQueryRepository.class);
+
+        condition = new MemberSearchCondition();
+        if (rows == 1) {
+            condition.setUsername("member42");
+        } else {
+            // team3 의 1000 명
+            condition.setTeamName("team3");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> jpa() {
+        return memberQueryRepository.search(condition);
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> sql() {
+        return memberSqlQueryRepository.search(condition);
+    }
+}
@@ -0,0 +1,110 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberScanRepository;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 회원 조회 시 메모리 비교 (rows 건 1회 조회)
+ * - findAll          : 읽기 전용 트랜잭션에서 영속성 컨텍스트에 전부 올림 (read-only 세션이라 스냅샷은 없음, 엔티티만 유지)
+ * - findAllReadWrite : 쓰기 트랜잭션에서 findAll (엔티티 + dirty checking 스냅샷을 트랜잭션 끝까지 유지)
+ * - scan    : StatelessSession 으로 chunk 씩 넘기고 버림
+ * - retainedBytes : 조회 도중 살아 있는 힙 증가량 (1,000,000 건 기준이면 곧 백만 건당 힙)
+ * - -prof gc 의 gc.alloc.rate.norm : 조회 1회당 할당 바이트
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class StatelessScanBenchmark {
+
+    private static final int CHUNK_SIZE = 1_000;
+
+    @Param({"1000000"})
+    int rows;
+
+    ConfigurableApplicationContext context;
+    MemberJpaRepository memberJpaRepository;
+    MemberScanRepository memberScanRepository;
+    TransactionTemplate readOnlyTx;
+    TransactionTemplate readWriteTx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("stateless-scan" + rows,
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+        BenchmarkContext.loadMembers(context.getBean(DataSource.class), 10, rows);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        memberScanRepository = context.getBean(MemberScanRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        readWriteTx = new TransactionTemplate(transactionManager);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long findAll(HeapCounter heap) {
+        return findAllIn(readOnlyTx, heap);
+    }
+
+    @Benchmark
+    public long findAllReadWrite(HeapCounter heap) {
+        // findAll 의 readOnly 는 바깥 트랜잭션에 참여하므로 세션은 쓰기 모드 그대로 (로드 시 스냅샷 생성)
+        return findAllIn(readWriteTx, heap);
+    }
+
+    @Benchmark
+    public long scan(HeapCounter heap) {
+        long[] ageSum = new long[1];
+        int middleChunk = rows / CHUNK_SIZE / 2;
+        int[] chunks = new int[1];
+        memberScanRepository.scan(null, CHUNK_SIZE, chunk -> {
+            for (Member member : chunk) {
+                ageSum[0] += member.getAge();
+            }
+            // 중간 지점에서 한 번 측정 (살아 있는 것은 현재 chunk 뿐이어야 함)
+            if (++chunks[0] == middleChunk) {
+                heap.sample();
+            }
+        });
+        return ageSum[0];
+    }
+
+    private long findAllIn(TransactionTemplate tx, HeapCounter heap) {
+        return tx.execute(status -> {
+            List<Member> members = memberJpaRepository.findAll();
+            long ageSum = 0;
+            for (Member member : members) {
+                ageSum += member.getAge();
+            }
+            // 트랜잭션이 끝나기 전 = 영속성 컨텍스트가 모든 엔티티를 들고 있는 시점
+            heap.sample();
+            return ageSum;
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package study.querydsl.benchmark;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.function.Supplier;
+
+/**
+ * 실행된 SQL 수를 JMH 보조 카운터로 보고한다. (hibernate generate_statistics 필요)
+ * Throughput 모드에서 statements / ops 가 요청당 SQL 수가 된다.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class StatementCounter {
+
+    public long statements;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        statements = 0;
+    }
+
+    // 카운터로 인식되지 않도록 public 이 아님
+    <T> T count(Statistics statistics, Supplier<T> work) {
+        long before = statistics.getPrepareStatementCount();
+        T result = work.get();
+        statements += statistics.getPrepareStatementCount() - before;
+        return result;
+    }
+}
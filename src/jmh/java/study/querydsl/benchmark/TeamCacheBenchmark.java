@@ -0,0 +1,84 @@
+package study.querydsl.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.TeamRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Team 2차 캐시/쿼리 캐시 on/off 비교 (statements / ops = 요청당 SQL 수)
+ * - findTeamByName : 팀 이름 조회
+ * - memberTeamNames : 회원 100명을 조회하고 각 회원의 팀 이름을 읽음 (팀 프록시 초기화)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TeamCacheBenchmark {
+
+    @Param({"on", "off"})
+    String cache;
+
+    ConfigurableApplicationContext context;
+    TeamRepository teamRepository;
+    TransactionTemplate readOnlyTx;
+    EntityManager em;
+    Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = "on".equals(cache)
+                ? BenchmarkContext.start("team-cache-on")
+                : BenchmarkContext.start("team-cache-off",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        BenchmarkContext.loadMembers(context.getBean(DataSource.class), 10, 1_000);
+        teamRepository = context.getBean(TeamRepository.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+        em = context.getBean(EntityManager.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Team> findTeamByName(StatementCounter counter) {
+        return counter.count(statistics, () -> teamRepository.findTeamByName("team3"));
+    }
+
+    @Benchmark
+    public int memberTeamNames(StatementCounter counter) {
+        return counter.count(statistics, () -> readOnlyTx.execute(status -> {
+            List<Member> members = em.createQuery("select m from Member m where m.id <= 100", Member.class)
+                    .getResultList();
+            int length = 0;
+            for (Member member : members) {
+                length += member.getTeam().getName().length();
+            }
+            return length;
+        }));
+    }
+}
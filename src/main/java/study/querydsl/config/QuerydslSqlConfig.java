@@ -0,0 +1,38 @@
+package study.querydsl.config;
+
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.SQLTemplates;
+import com.querydsl.sql.SQLTemplatesRegistry;
+import com.querydsl.sql.spring.SpringConnectionProvider;
+import com.querydsl.sql.spring.SpringExceptionTranslator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * querydsl-sql 설정. (엔티티를 거치지 않는 조회 전용)
+ * SpringConnectionProvider 는 현재 트랜잭션의 커넥션을 사용하므로 트랜잭션 안에서만 쿼리할 수 있다.
+ */
+@Configuration
+public class QuerydslSqlConfig {
+
+    @Bean
+    public com.querydsl.sql.Configuration querydslSqlConfiguration(DataSource dataSource) throws SQLException {
+        // 접속한 DB 에 맞는 SQL 문법(H2, MySQL ...)을 선택
+        SQLTemplates templates;
+        try (Connection connection = dataSource.getConnection()) {
+            templates = new SQLTemplatesRegistry().getTemplates(connection.getMetaData());
+        }
+        com.querydsl.sql.Configuration configuration = new com.querydsl.sql.Configuration(templates);
+        configuration.setExceptionTranslator(new SpringExceptionTranslator());
+        return configuration;
+    }
+
+    @Bean
+    public SQLQueryFactory sqlQueryFactory(com.querydsl.sql.Configuration querydslSqlConfiguration, DataSource dataSource) {
+        return new SQLQueryFactory(querydslSqlConfiguration, new SpringConnectionProvider(dataSource));
+    }
+}
@@ -0,0 +1,60 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import study.querydsl.support.DataVersion;
+import study.querydsl.support.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * member.datasource.replica.url 이 있으면 읽기 전용 트랜잭션을 레플리카로 보낸다.
+ * - 프라이머리: spring.datasource.*, 레플리카: member.datasource.replica.*
+ * - 없으면 스프링 부트 기본 DataSource 하나만 사용
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "member.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("member.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${member.datasource.replica.url}") String url,
+                                              @Value("${member.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${member.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 DataVersion dataVersion,
+                                 @Value("${member.datasource.replica.max-lag:0s}") Duration maxLag) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, dataVersion, maxLag));
+    }
+}
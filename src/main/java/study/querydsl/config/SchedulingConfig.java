@@ -0,0 +1,12 @@
+package study.querydsl.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업 (team_stats 재집계 등)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,32 @@
+package study.querydsl.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.support.SampledSqlLogger;
+import study.querydsl.support.SqlLoggingDataSourcePostProcessor;
+
+import java.time.Duration;
+
+/**
+ * p6spy 대신 사용하는 샘플링 SQL 로그. (sql-log.enabled=false 로 끌 수 있음)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sql-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlLoggingConfig {
+
+    @Bean
+    public static SqlLoggingDataSourcePostProcessor sqlLoggingDataSourcePostProcessor(
+            ObjectProvider<SampledSqlLogger> sqlLogger) {
+        return new SqlLoggingDataSourcePostProcessor(sqlLogger);
+    }
+
+    @Bean(destroyMethod = "close")
+    public SampledSqlLogger sampledSqlLogger(@Value("${sql-log.sample-rate:0.01}") double sampleRate,
+                                             @Value("${sql-log.slow-threshold:200ms}") Duration slowThreshold,
+                                             @Value("${sql-log.buffer-size:1024}") int bufferSize) {
+        return new SampledSqlLogger(sampleRate, slowThreshold, bufferSize);
+    }
+}
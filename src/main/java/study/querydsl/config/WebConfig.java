@@ -0,0 +1,28 @@
+package study.querydsl.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.querydsl.support.MemberBinaryHttpMessageConverter;
+import study.querydsl.support.MemberColumnarJsonHttpMessageConverter;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public WebConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Jackson 컨버터가 application/*+json 도 처리하므로 앞에 둔다. (전용 media type 을 요청할 때만 동작)
+        converters.add(0, new MemberColumnarJsonHttpMessageConverter(objectMapper));
+        // Accept 가 없거나 */* 이면 먼저 등록된 JSON 이 선택되도록 맨 뒤에 둔다.
+        converters.add(new MemberBinaryHttpMessageConverter());
+    }
+}
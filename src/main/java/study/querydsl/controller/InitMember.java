@@ -6,10 +6,13 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
 
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
 
 @Profile("local")
 @Component
@@ -24,10 +27,13 @@ public class InitMember {
     }
 
     @Component
+    @RequiredArgsConstructor
     static class InitMemberService {
         @PersistenceContext
         private EntityManager em;
 
+        private final MemberJpaRepository memberJpaRepository;
+
         @Transactional
         public void init() {
             Team teamA = new Team("teamA");
@@ -35,10 +41,12 @@ public class InitMember {
             em.persist(teamA);
             em.persist(teamB);
 
+            List<Member> members = new ArrayList<>();
             for (int i = 0; i < 100; i++) {
                 Team selectedTeam = i % 2 == 0 ? teamA : teamB;
-                em.persist(new Member("member" + i, i, selectedTeam));
+                members.add(new Member("member" + i, i, selectedTeam));
             }
+            memberJpaRepository.saveAll(members);
         }
     }
 
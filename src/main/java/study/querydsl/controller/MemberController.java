@@ -1,40 +1,175 @@
 package study.querydsl.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import study.querydsl.dto.CursorPage;
+import study.querydsl.dto.MemberCursor;
+import study.querydsl.dto.MemberImportResult;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.repository.MemberJpaRepository;
 import study.querydsl.repository.MemberRepository;
+import study.querydsl.service.MemberImportService;
+import study.querydsl.service.MemberSearchExecutor;
+import study.querydsl.service.MemberSearchService;
+import study.querydsl.support.SearchETags;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.support.MemberBinaryHttpMessageConverter.MEMBER_BINARY_VALUE;
+import static study.querydsl.support.MemberColumnarJsonHttpMessageConverter.COLUMNAR_JSON_VALUE;
 
+// /v1, /v2 검색은 Accept 로 JSON(기본) / columnar JSON / binary 중 하나를 고른다. (produces 의 첫 번째가 기본 형식)
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final MemberJpaRepository memberJpaRepository;
+    private final MemberSearchService memberSearchService;
     private final MemberRepository memberRepository;
+    private final MemberImportService memberImportService;
+    private final MemberSearchExecutor memberSearchExecutor;
+    private final SearchETags searchETags;
+    private final ObjectMapper objectMapper;
 
     /*  ex)
         http://localhost:8080/v1/members
         http://localhost:8080/v1/members?teamName=teamB&ageGoe=31&ageLoe=35
      */
-    @GetMapping("/v1/members")
-    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
-        return memberJpaRepository.search(condition);
+    @GetMapping(value = "/v1/members", produces = {APPLICATION_JSON_VALUE, COLUMNAR_JSON_VALUE, MEMBER_BINARY_VALUE})
+    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition, ServletWebRequest webRequest) {
+        // If-None-Match 가 현재 ETag 와 같으면 조회하지 않고 304
+        if (notModified(webRequest, "v1", condition.normalize())) {
+            return null;
+        }
+        return memberSearchService.search(condition);
+    }
+
+    /*  ex) /v1/members 의 비동기 버전 - 조회는 MemberSearchExecutor 에서 실행하고 요청 스레드는 바로 반환
+        http://localhost:8080/v1/members/async?teamName=teamB
+     */
+    @GetMapping(value = "/v1/members/async", produces = {APPLICATION_JSON_VALUE, COLUMNAR_JSON_VALUE, MEMBER_BINARY_VALUE})
+    public CompletableFuture<List<MemberTeamDto>> searchMemberV1Async(MemberSearchCondition condition,
+                                                                      ServletWebRequest webRequest) {
+        if (notModified(webRequest, "v1", condition.normalize())) {
+            return null;
+        }
+        return memberSearchExecutor.submit(() -> memberSearchService.search(condition));
+    }
+
+    /*  ex) 대용량 export - 한 줄에 MemberTeamDto 하나씩(NDJSON), 조회하는 대로 바로 내려보냄
+        http://localhost:8080/v1/members/stream
+        http://localhost:8080/v1/members/stream?teamName=teamB
+     */
+    @GetMapping("/v1/members/stream")
+    public ResponseEntity<StreamingResponseBody> streamMemberV1(MemberSearchCondition condition) {
+        StreamingResponseBody body = out -> {
+            SequenceWriter writer = objectMapper.writerFor(MemberTeamDto.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out);
+            memberJpaRepository.searchStream(condition, dto -> {
+                try {
+                    writer.write(dto);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
     }
 
     /* ex)
         localhost:8080/v2/members?page=1&size=5
         localhost:8080/v2/members?page=0&size=200
      */
-    @GetMapping("/v2/members")
-    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
+    @GetMapping(value = "/v2/members", produces = {APPLICATION_JSON_VALUE, COLUMNAR_JSON_VALUE, MEMBER_BINARY_VALUE})
+    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable, ServletWebRequest webRequest) {
+        if (notModified(webRequest, "v2", condition.normalize(), pageable)) {
+            return null;
+        }
         return memberRepository.searchPageComplex(condition, pageable);
     }
 
+    /* ex) /v2/members 의 비동기 버전
+        localhost:8080/v2/members/async?page=0&size=20
+     */
+    @GetMapping(value = "/v2/members/async", produces = {APPLICATION_JSON_VALUE, COLUMNAR_JSON_VALUE, MEMBER_BINARY_VALUE})
+    public CompletableFuture<Page<MemberTeamDto>> searchMemberV2Async(MemberSearchCondition condition, Pageable pageable,
+                                                                      ServletWebRequest webRequest) {
+        if (notModified(webRequest, "v2", condition.normalize(), pageable)) {
+            return null;
+        }
+        return memberSearchExecutor.submit(() -> memberRepository.searchPageComplex(condition, pageable));
+    }
+
+    /* ex) keyset(seek) 페이징 - 응답의 nextCursor 를 다음 요청의 cursor 로 넘김
+        localhost:8080/v3/members?size=20
+        localhost:8080/v3/members?size=20&orderBy=AGE
+        localhost:8080/v3/members?size=20&cursor=aTo0MA
+     */
+    @GetMapping("/v3/members")
+    public CursorPage<MemberTeamDto> searchMemberV3(MemberSearchCondition condition,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int size,
+                                                    @RequestParam(defaultValue = "ID") MemberCursor.Order orderBy) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size는 1~" + MAX_CURSOR_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        MemberCursor memberCursor;
+        try {
+            memberCursor = hasText(cursor) ? MemberCursor.decode(cursor) : MemberCursor.first(orderBy);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return memberRepository.searchAfter(condition, memberCursor, size);
+    }
+
+    /* ex) CSV 적재 - 본문을 버퍼링하지 않고 읽으면서 바로 저장
+        curl -X POST -H 'Content-Type: text/csv' --data-binary @members.csv localhost:8080/members/import
+     */
+    @PostMapping(value = "/members/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public MemberImportResult importMembers(HttpServletRequest request) throws IOException {
+        return memberImportService.importCsv(request.getInputStream());
+    }
+
+    /**
+     * If-None-Match 가 현재 ETag 와 같으면 true (304).
+     * 같은 URL 을 Accept 에 따라 다른 형식으로 내려주므로 ETag 에 Accept 를 넣고, 304/200 모두 Vary: Accept 를 보낸다.
+     */
+    private boolean notModified(ServletWebRequest webRequest, String api, Object... keys) {
+        HttpServletResponse response = webRequest.getResponse();
+        if (response != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return webRequest.checkNotModified(searchETags.of(api, webRequest.getHeader(HttpHeaders.ACCEPT), keys));
+    }
+
 }
@@ -0,0 +1,24 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.repository.TeamStatsRepository;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamStatsController {
+
+    private final TeamStatsRepository teamStatsRepository;
+
+    /*  ex) 팀별 회원 수 / 나이 합계, 평균, 최소, 최대 (미리 집계된 team_stats 를 팀 수만큼만 읽음)
+        http://localhost:8080/teams/stats
+     */
+    @GetMapping("/teams/stats")
+    public List<TeamStatsDto> teamStats() {
+        return teamStatsRepository.findAll();
+    }
+}
@@ -0,0 +1,27 @@
+package study.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * bulk 연산 진행 상황. chunk 하나가 커밋될 때마다 전달된다.
+ */
+@Getter
+@ToString
+public class MemberBulkProgress {
+    private final int chunk;           // 1 부터 시작
+    private final long fromId;         // 이번 chunk 의 member_id 범위 (포함)
+    private final long toId;
+    private final long lastId;         // 처리할 마지막 member_id
+    private final long affected;       // 이번 chunk 에서 변경된 row 수
+    private final long totalAffected;  // 지금까지 변경된 row 수
+
+    public MemberBulkProgress(int chunk, long fromId, long toId, long lastId, long affected, long totalAffected) {
+        this.chunk = chunk;
+        this.fromId = fromId;
+        this.toId = toId;
+        this.lastId = lastId;
+        this.affected = affected;
+        this.totalAffected = totalAffected;
+    }
+}
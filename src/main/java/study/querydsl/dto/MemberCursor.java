@@ -0,0 +1,65 @@
+package study.querydsl.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * keyset(seek) 페이징 커서.
+ * 클라이언트에는 encode() 결과만 내려주고, 내부 구조는 노출하지 않는다.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class MemberCursor {
+
+    // 정렬 기준: (member_id) 또는 (age, member_id)
+    public enum Order {
+        ID, AGE
+    }
+
+    private final Order order;
+    private final Integer age;   // AGE 정렬일 때만 사용
+    private final Long memberId; // null 이면 첫 페이지
+
+    private MemberCursor(Order order, Integer age, Long memberId) {
+        this.order = order;
+        this.age = age;
+        this.memberId = memberId;
+    }
+
+    public static MemberCursor first(Order order) {
+        return new MemberCursor(order, null, null);
+    }
+
+    public static MemberCursor after(Order order, MemberTeamDto last) {
+        return new MemberCursor(order, order == Order.AGE ? last.getAge() : null, last.getMemberId());
+    }
+
+    public boolean isFirst() {
+        return memberId == null;
+    }
+
+    public String encode() {
+        String raw = order == Order.AGE ? "a:" + age + ":" + memberId : "i:" + memberId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MemberCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            if (parts.length == 2 && "i".equals(parts[0])) {
+                return new MemberCursor(Order.ID, null, Long.valueOf(parts[1]));
+            }
+            if (parts.length == 3 && "a".equals(parts[0])) {
+                return new MemberCursor(Order.AGE, Integer.valueOf(parts[1]), Long.valueOf(parts[2]));
+            }
+        } catch (IllegalArgumentException e) { // NumberFormatException 포함
+            throw new IllegalArgumentException("잘못된 커서입니다: " + token, e);
+        }
+        throw new IllegalArgumentException("잘못된 커서입니다: " + token);
+    }
+}
@@ -0,0 +1,18 @@
+package study.querydsl.dto;
+
+import lombok.Getter;
+
+@Getter
+public class MemberImportResult {
+    private final long imported;
+    private final long rejected;
+    private final long elapsedMillis;
+    private final double rowsPerSecond;
+
+    public MemberImportResult(long imported, long rejected, long elapsedNanos) {
+        this.imported = imported;
+        this.rejected = rejected;
+        this.elapsedMillis = elapsedNanos / 1_000_000;
+        this.rowsPerSecond = elapsedNanos == 0 ? 0 : imported * 1_000_000_000d / elapsedNanos;
+    }
+}
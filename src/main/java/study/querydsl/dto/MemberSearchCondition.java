@@ -9,4 +9,73 @@ public class MemberSearchCondition {
     private String teamName;
     private Integer ageGoe;
     private Integer ageLoe;
+
+    // shape() 비트 - 어떤 조건이 들어왔는지 (조합은 최대 16가지)
+    public static final int USERNAME = 1;
+    public static final int TEAM_NAME = 1 << 1;
+    public static final int AGE_GOE = 1 << 2;
+    public static final int AGE_LOE = 1 << 3;
+    public static final int SHAPE_COUNT = 1 << 4;
+
+    /**
+     * 값이 들어온 조건의 조합. 같은 shape 이면 생성되는 쿼리의 where 절 모양이 같다.
+     */
+    public int shape() {
+        int shape = 0;
+        if (username != null && !username.isEmpty()) {
+            shape |= USERNAME;
+        }
+        if (teamName != null && !teamName.isEmpty()) {
+            shape |= TEAM_NAME;
+        }
+        if (ageGoe != null) {
+            shape |= AGE_GOE;
+        }
+        if (ageLoe != null) {
+            shape |= AGE_LOE;
+        }
+        return shape;
+    }
+
+    /**
+     * 메트릭 태그 등에 쓰는 shape 이름. ex) "username+ageGoe", 조건이 없으면 "none"
+     */
+    public String shapeName() {
+        int shape = shape();
+        if (shape == 0) {
+            return "none";
+        }
+        StringBuilder name = new StringBuilder();
+        appendIf(name, shape, USERNAME, "username");
+        appendIf(name, shape, TEAM_NAME, "teamName");
+        appendIf(name, shape, AGE_GOE, "ageGoe");
+        appendIf(name, shape, AGE_LOE, "ageLoe");
+        return name.toString();
+    }
+
+    private static void appendIf(StringBuilder name, int shape, int flag, String field) {
+        if ((shape & flag) != 0) {
+            if (name.length() > 0) {
+                name.append('+');
+            }
+            name.append(field);
+        }
+    }
+
+    /**
+     * 캐시 키 등에 사용할 정규화된 복사본.
+     * 검색 결과가 같은 조건은 같은 값이 되도록 빈 문자열은 null 로 바꾼다. (빈 문자열은 조건 없음과 동일)
+     */
+    public MemberSearchCondition normalize() {
+        MemberSearchCondition normalized = new MemberSearchCondition();
+        normalized.setUsername(emptyToNull(username));
+        normalized.setTeamName(emptyToNull(teamName));
+        normalized.setAgeGoe(ageGoe);
+        normalized.setAgeLoe(ageLoe);
+        return normalized;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
 }
@@ -0,0 +1,26 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+@Data
+public class TeamStatsDto {
+    private Long teamId;
+    private String teamName;
+    private long memberCount;
+    private long ageSum;
+    private Double ageAvg;   // 회원이 없으면 null
+    private Integer minAge;
+    private Integer maxAge;
+
+    @QueryProjection
+    public TeamStatsDto(Long teamId, String teamName, long memberCount, long ageSum, Integer minAge, Integer maxAge) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.memberCount = memberCount;
+        this.ageSum = ageSum;
+        this.ageAvg = memberCount == 0 ? null : (double) ageSum / memberCount;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+    }
+}
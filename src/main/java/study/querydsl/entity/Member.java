@@ -5,6 +5,11 @@ import lombok.*;
 import javax.persistence.*;
 
 @Entity
+// 검색 조건용 인덱스 (username = ?, team_id 조인/필터 + age 범위)
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username"),
+        @Index(name = "idx_member_team_age", columnList = "team_id, age")
+})
 @Getter @Setter
 // protected 인 기본 생성자 만들어줌
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -12,7 +17,10 @@ import javax.persistence.*;
 @ToString(of = {"id", "username", "age"})
 public class Member {
 
-    @Id @GeneratedValue
+    // 시퀀스를 50개씩 미리 할당(pooled optimizer) → persist 마다 시퀀스를 조회하지 않음
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
     @Column(name = "member_id")
     private Long id;
     private String username;
@@ -1,18 +1,27 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+// 팀은 작고 거의 바뀌지 않으므로 2차 캐시에 둔다. (변경 시 하이버네이트가 캐시도 함께 갱신)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name"))
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // protected 인 기본 생성자 만들어줌
 @ToString(of = {"id", "name"})
 public class Team {
 
-    @Id @GeneratedValue
+    // 시퀀스를 50개씩 미리 할당(pooled optimizer) → persist 마다 시퀀스를 조회하지 않음
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
+    @SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = 50)
     @Column(name = "team_id")
     private Long id;
     private String name;
@@ -0,0 +1,29 @@
+package study.querydsl.entity;
+
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+
+/**
+ * 팀별 회원 통계 (읽기 모델).
+ * member 전체를 group by 하지 않고 팀 수만큼만 읽도록 미리 집계해 둔 테이블.
+ * - 엔티티로는 읽기만 하고, 값은 TeamStatsDelta / TeamStatsRepository 에서 SQL 로 직접 갱신한다. (@Immutable)
+ */
+@Entity
+@Immutable
+@Table(name = "team_stats")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class TeamStats {
+
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+    private long memberCount;
+    private long ageSum;
+    // 회원이 없으면 null
+    private Integer minAge;
+    private Integer maxAge;
+}
@@ -0,0 +1,108 @@
+package study.querydsl.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * count 쿼리를 content 쿼리와 동시에 실행하기 위한 전용 executor (opt-in).
+ * - 작업 스레드에서 읽기 전용 트랜잭션을 새로 열기 때문에 별도 EntityManager 로 실행됨
+ * - 스레드 수와 큐 크기를 제한해서 DB 커넥션을 과하게 점유하지 않도록 함
+ * - 다른 executor 의 작업 스레드(MemberSearchExecutor)에서는 callerRuns 로 감싸서 순차 실행
+ *   (이미 커넥션을 잡은 작업 스레드가 count 용 스레드/커넥션을 또 기다리면, 둘 다 포화됐을 때 서로를 기다리게 됨)
+ */
+@Component
+public class CountQueryExecutor {
+
+    private static final ThreadLocal<Boolean> CALLER_RUNS = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final TransactionTemplate readOnlyTx;
+    private final ThreadPoolExecutor executor;
+
+    public CountQueryExecutor(PlatformTransactionManager transactionManager,
+                              @Value("${member.search.parallel-count.enabled:false}") boolean enabled,
+                              @Value("${member.search.parallel-count.threads:4}") int threads,
+                              @Value("${member.search.parallel-count.queue-capacity:100}") int queueCapacity) {
+        this.enabled = enabled;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("count-query-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * count 쿼리를 백그라운드에서 시작한다.
+     * null 을 반환하면 호출한 스레드에서 기존처럼 순차 실행하면 된다.
+     * - 병렬 모드가 꺼져 있을 때
+     * - 쓰기 트랜잭션 안일 때 (커밋 전 변경 내용이 다른 트랜잭션의 count 에는 보이지 않음)
+     * - 큐가 가득 찼을 때
+     * - callerRuns 안에서 호출됐을 때
+     */
+    public Future<Long> submit(Supplier<Long> countQuery) {
+        if (!enabled || Boolean.TRUE.equals(CALLER_RUNS.get()) || isInReadWriteTransaction()) {
+            return null;
+        }
+        try {
+            return executor.submit(() -> readOnlyTx.execute(status -> countQuery.get()));
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    public Long await(Future<Long> countFuture) {
+        try {
+            return countFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("count 쿼리 대기 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("count 쿼리 실행 실패", e.getCause());
+        }
+    }
+
+    /**
+     * work 를 실행하는 동안 현재 스레드의 count 쿼리는 병렬로 실행하지 않고 호출한 스레드에서 실행한다.
+     */
+    public static <T> T callerRuns(Supplier<T> work) {
+        Boolean previous = CALLER_RUNS.get();
+        CALLER_RUNS.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CALLER_RUNS.remove();
+            } else {
+                CALLER_RUNS.set(previous);
+            }
+        }
+    }
+
+    private boolean isInReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,224 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberBulkProgress;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.support.TeamStatsDelta;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.aspectj.util.LangUtil.isEmpty;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 검색 조건으로 여러 회원을 한 번에 수정/삭제하는 bulk 연산.
+ * - 하나의 update/delete 로 전체를 처리하면 락을 오래 잡고 undo 로그가 커지므로 대상 row chunkSize 개씩 나눠서 실행
+ *   (chunk 마다 다음 대상 id chunkSize 개를 찾아서(seek) 그 id 범위로 실행 → 대상이 드문드문 있어도 빈 chunk 가 없음)
+ * - chunk 마다 트랜잭션을 커밋한다. (이미 트랜잭션 안에서 호출하면 그 트랜잭션에 참여하므로 커밋은 호출한 쪽에서)
+ * - bulk 연산은 영속성 컨텍스트를 거치지 않으므로 chunk 전에 flush(), 후에 clear() 를 자동으로 함
+ * - 엔티티 이벤트도 발생하지 않으므로 team_stats 는 chunk 마다 대상 row 를 팀별로 미리 집계해서 같은 트랜잭션에서 반영
+ */
+@Repository
+public class MemberBulkRepository {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate chunkTx;
+    private final TeamRepository teamRepository;
+    private final TeamStatsRepository teamStatsRepository;
+    private final int chunkSize;
+
+    public MemberBulkRepository(EntityManager em, PlatformTransactionManager transactionManager,
+                                TeamRepository teamRepository, TeamStatsRepository teamStatsRepository,
+                                @Value("${member.bulk.chunk-size:1000}") int chunkSize) {
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.chunkTx = new TransactionTemplate(transactionManager);
+        this.teamRepository = teamRepository;
+        this.teamStatsRepository = teamStatsRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    public long bulkAgePlus(MemberSearchCondition condition, int delta) {
+        return bulkAgePlus(condition, delta, progress -> {
+        });
+    }
+
+    /**
+     * 조건에 맞는 회원의 나이에 delta 를 더한다.
+     *
+     * @return 변경된 회원 수
+     */
+    public long bulkAgePlus(MemberSearchCondition condition, int delta, Consumer<MemberBulkProgress> progress) {
+        return executeInChunks(condition, progress, where -> queryFactory
+                .update(member)
+                .set(member.age, member.age.add(delta))
+                .where(where)
+                .execute(),
+                // 팀 안에서 나이만 이동 → count 는 그대로, sum/min/max 만 delta 만큼
+                (stats, teamId, count, ageSum, minAge, maxAge) -> {
+                    stats.removed(teamId, count, ageSum, minAge, maxAge);
+                    stats.added(teamId, count, ageSum + (long) delta * count, minAge + delta, maxAge + delta);
+                });
+    }
+
+    public long bulkDelete(MemberSearchCondition condition) {
+        return bulkDelete(condition, progress -> {
+        });
+    }
+
+    /**
+     * 조건에 맞는 회원을 삭제한다.
+     *
+     * @return 삭제된 회원 수
+     */
+    public long bulkDelete(MemberSearchCondition condition, Consumer<MemberBulkProgress> progress) {
+        return executeInChunks(condition, progress, where -> queryFactory
+                .delete(member)
+                .where(where)
+                .execute(),
+                TeamStatsDelta::removed);
+    }
+
+    private long executeInChunks(MemberSearchCondition condition, Consumer<MemberBulkProgress> progress,
+                                 ChunkStatement chunkStatement, ChunkStats chunkStats) {
+        // teamName 은 미리 id 로 바꿔 둠 (bulk update/delete 는 조인을 쓸 수 없음)
+        List<Long> teamIds = resolveTeamIds(condition);
+        if (!isEmpty(condition.getTeamName()) && teamIds.isEmpty()) {
+            return 0;
+        }
+        BooleanExpression where = allOf(
+                usernameEq(condition.getUsername()),
+                teamIdIn(teamIds),
+                ageGoe(condition.getAgeGoe()),
+                ageLoe(condition.getAgeLoe()));
+
+        // 시작 시점의 마지막 대상까지만 처리 (실행 중에 추가된 row 는 대상이 아님)
+        Long lastId = chunkTx.execute(status -> queryFactory
+                .select(member.id.max())
+                .from(member)
+                .where(where)
+                .fetchOne());
+        if (lastId == null) {
+            return 0;
+        }
+
+        long totalAffected = 0;
+        int chunk = 0;
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            long seekFrom = afterId;
+            long[] range = new long[2];
+            Long affected = chunkTx.execute(status -> {
+                em.flush();
+                List<Long> ids = nextChunkIds(where, seekFrom, lastId);
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                range[0] = ids.get(0);
+                range[1] = ids.get(ids.size() - 1);
+                Predicate chunkWhere = member.id.between(range[0], range[1]).and(where);
+                TeamStatsDelta stats = teamStatsDelta(chunkWhere, chunkStats);
+                long count = chunkStatement.execute(chunkWhere);
+                teamStatsRepository.apply(stats);
+                em.clear();
+                return count;
+            });
+            if (affected == null) {
+                break;
+            }
+            totalAffected += affected;
+            progress.accept(new MemberBulkProgress(++chunk, range[0], range[1], lastId, affected, totalAffected));
+            if (range[1] >= lastId) {
+                break;
+            }
+            afterId = range[1];
+        }
+        return totalAffected;
+    }
+
+    // afterId 다음부터 조건에 맞는 id 를 chunkSize 개 (member_id 인덱스를 순서대로 읽다가 chunkSize 개에서 멈춤)
+    private List<Long> nextChunkIds(Predicate where, long afterId, long lastId) {
+        return queryFactory
+                .select(member.id)
+                .from(member)
+                .where(member.id.gt(afterId), member.id.loe(lastId), where)
+                .orderBy(member.id.asc())
+                .limit(chunkSize)
+                .fetch();
+    }
+
+    // 실행 전에 이번 chunk 의 대상 row 를 팀별로 집계
+    private TeamStatsDelta teamStatsDelta(Predicate where, ChunkStats chunkStats) {
+        List<Tuple> rows = queryFactory
+                .select(member.team.id, member.count(), member.age.sum(), member.age.min(), member.age.max())
+                .from(member)
+                .where(where, member.team.isNotNull())
+                .groupBy(member.team.id)
+                .fetch();
+        TeamStatsDelta stats = new TeamStatsDelta();
+        for (Tuple row : rows) {
+            chunkStats.collect(stats, row.get(member.team.id), row.get(member.count()), row.get(member.age.sum()),
+                    row.get(member.age.min()), row.get(member.age.max()));
+        }
+        return stats;
+    }
+
+    // 조건이 하나도 없으면 null (전체 대상)
+    private static BooleanExpression allOf(BooleanExpression... expressions) {
+        BooleanExpression result = null;
+        for (BooleanExpression expression : expressions) {
+            if (expression != null) {
+                result = result == null ? expression : result.and(expression);
+            }
+        }
+        return result;
+    }
+
+    private List<Long> resolveTeamIds(MemberSearchCondition condition) {
+        if (isEmpty(condition.getTeamName())) {
+            return Collections.emptyList();
+        }
+        return teamRepository.findTeamIdsByName(condition.getTeamName());
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return isEmpty(username) ? null : member.username.eq(username);
+    }
+
+    private BooleanExpression teamIdIn(List<Long> teamIds) {
+        if (teamIds.isEmpty()) {
+            return null;
+        }
+        return teamIds.size() == 1 ? member.team.id.eq(teamIds.get(0)) : member.team.id.in(teamIds);
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe == null ? null : member.age.goe(ageGoe);
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe == null ? null : member.age.loe(ageLoe);
+    }
+
+    @FunctionalInterface
+    private interface ChunkStatement {
+        long execute(Predicate where);
+    }
+
+    // chunk 대상 row 의 팀별 집계를 team_stats 변경분으로 바꿈
+    @FunctionalInterface
+    private interface ChunkStats {
+        void collect(TeamStatsDelta stats, Long teamId, long count, long ageSum, int minAge, int maxAge);
+    }
+}
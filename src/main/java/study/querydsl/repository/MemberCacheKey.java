@@ -0,0 +1,37 @@
+package study.querydsl.repository;
+
+import lombok.Value;
+import org.springframework.data.domain.Pageable;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.support.DataVersion;
+
+/**
+ * MemberSearchCache / MemberCountCache 공용 키: 정규화한 검색 조건 + 페이지 + DataVersion epoch.
+ * Member/Team 쓰기(Querydsl bulk update/delete 포함)가 있으면 epoch 가 바뀌므로 이전 항목은 더 이상 조회되지 않는다.
+ */
+@Value
+public class MemberCacheKey {
+    long epoch;
+    MemberSearchCondition condition;
+    Pageable pageable; // 페이징이 없으면 null
+
+    /**
+     * 쿼리를 시작하기 전에 만들어야 한다. (쿼리 도중 쓰기가 있으면 이전 epoch 로 저장되어 버려짐)
+     * 현재 트랜잭션에 커밋 전 쓰기가 있으면 캐시하지 않도록 null 을 반환한다.
+     */
+    static MemberCacheKey of(DataVersion dataVersion, MemberSearchCondition condition, Pageable pageable) {
+        if (dataVersion.hasPendingWrites()) {
+            return null;
+        }
+        return new MemberCacheKey(dataVersion.current(), condition.normalize(), pageable);
+    }
+
+    /**
+     * 쿼리가 끝난 뒤 저장 직전에 확인한다.
+     * 키를 만든 뒤 쿼리 실행 중 auto flush 등으로 이 트랜잭션에 커밋 전 쓰기가 생겼거나, 다른 쓰기로 epoch 가 바뀌었으면
+     * 결과가 이 키(epoch)의 데이터라고 볼 수 없으므로 저장하지 않는다. (롤백될 row 가 공유 캐시에 들어가는 것 방지)
+     */
+    boolean isCurrent(DataVersion dataVersion) {
+        return !dataVersion.hasPendingWrites() && dataVersion.current() == epoch;
+    }
+}
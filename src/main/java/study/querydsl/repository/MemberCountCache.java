@@ -0,0 +1,59 @@
+package study.querydsl.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.support.DataVersion;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * searchPageComplex 의 전체 건수(count) 캐시.
+ * - 키: MemberCacheKey (정규화한 검색 조건 + DataVersion epoch) → Member/Team 쓰기가 있으면 이전 항목은 더 이상 조회되지 않음
+ * - 크기/TTL 로 제거, hit/miss/eviction 은 cache.* 메트릭(/actuator/metrics)으로 노출
+ */
+@Component
+public class MemberCountCache {
+
+    private final DataVersion dataVersion;
+    private final Cache<MemberCacheKey, Long> cache;
+
+    public MemberCountCache(DataVersion dataVersion, MeterRegistry meterRegistry,
+                            @Value("${member.search.count-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${member.search.count-cache.ttl:60s}") Duration ttl) {
+        this.dataVersion = dataVersion;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "memberCountCache");
+    }
+
+    /**
+     * count 쿼리를 시작하기 전에 키를 만들어야 한다. (캐시하면 안 되는 경우 null, MemberCacheKey.of 참고)
+     */
+    public MemberCacheKey keyOf(MemberSearchCondition condition) {
+        return MemberCacheKey.of(dataVersion, condition, null);
+    }
+
+    public Long getIfPresent(MemberCacheKey key) {
+        return key == null ? null : cache.getIfPresent(key);
+    }
+
+    /**
+     * count 쿼리를 실행하고, 실행 도중 쓰기가 없었을 때만 저장한다. (auto flush 된 커밋 전 row 가 섞인 count 는 저장하지 않음)
+     */
+    public long load(MemberCacheKey key, LongSupplier countQuery) {
+        long count = countQuery.getAsLong();
+        if (key != null && key.isCurrent(dataVersion)) {
+            cache.put(key, count);
+        }
+        return count;
+    }
+}
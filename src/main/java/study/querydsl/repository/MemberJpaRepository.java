@@ -2,16 +2,30 @@ package study.querydsl.repository;
 
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.support.IndexAdvisor;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.aspectj.util.LangUtil.isEmpty;
 import static org.springframework.util.StringUtils.hasText;
@@ -20,44 +34,108 @@ import static study.querydsl.entity.QTeam.team;
 
 @Repository
 public class MemberJpaRepository {
+    private static final int STREAM_FETCH_SIZE = 500;
+
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final int batchSize;
+    private final IndexAdvisor indexAdvisor;
 
-    public MemberJpaRepository(EntityManager em) {
+    public MemberJpaRepository(EntityManager em, IndexAdvisor indexAdvisor,
+                               @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize) {
         this.em = em;
         this.queryFactory = new JPAQueryFactory(em);
+        this.batchSize = batchSize;
+        this.indexAdvisor = indexAdvisor;
     }
 
     public void save(Member member){
         em.persist(member);
     }
 
+    /**
+     * 대량 저장.
+     * - JDBC batch 크기만큼 persist 한 뒤 flush() 로 insert 를 묶어서 보내고, clear() 로 영속성 컨텍스트를 비움
+     * - 영속성 컨텍스트가 계속 커지지 않으므로 건수와 상관없이 메모리와 dirty checking 비용이 일정함
+     * 주의: 중간에 clear() 하므로 호출 전에 같은 트랜잭션에서 관리하던 엔티티도 준영속 상태가 된다.
+     */
+    @Transactional
+    public long saveAll(Iterable<Member> members) {
+        long count = 0;
+        for (Member member : members) {
+            em.persist(member);
+            if (++count % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+
+    /**
+     * 회원들의 팀 프록시를 IN 쿼리 한 번(팀 id 가 batchSize 를 넘으면 batchSize 개씩)으로 초기화한다.
+     * - default_batch_fetch_size 와 상관없이 getTeam() 을 순회하기 전에 명시적으로 한 번에 로딩할 때 사용
+     * - 호출한 쪽 트랜잭션(같은 영속성 컨텍스트) 안에서 조회한 회원이어야 한다.
+     */
+    public void loadTeams(Collection<Member> members) {
+        Set<Long> teamIds = new LinkedHashSet<>();
+        for (Member m : members) {
+            Team t = m.getTeam();
+            if (t instanceof HibernateProxy && !Hibernate.isInitialized(t)) {
+                teamIds.add((Long) ((HibernateProxy) t).getHibernateLazyInitializer().getIdentifier());
+            }
+        }
+        if (teamIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(teamIds);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            // 조회된 팀이 영속성 컨텍스트에 올라가므로 이후 프록시 초기화는 SQL 없이 끝남
+            queryFactory.selectFrom(team)
+                    .where(team.id.in(ids.subList(from, Math.min(from + batchSize, ids.size()))))
+                    .fetch();
+        }
+        for (Member m : members) {
+            Hibernate.initialize(m.getTeam());
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Member> findById(Long id){
         Member findMember = em.find(Member.class, id);
         return Optional.ofNullable(findMember);
     }
 
+    @Transactional(readOnly = true)
     public List<Member> findAll() {
         return em.createQuery("select m from Member m", Member.class)
                 .getResultList();
     }
 
+    @Transactional(readOnly = true)
     public List<Member> findAll_Querydsl() {
         return queryFactory.selectFrom(member).fetch();
     }
 
+    @Transactional(readOnly = true)
     public List<Member> findByUsername(String username){
         return em.createQuery("select m from Member m where m.username = :username", Member.class)
                 .setParameter("username", username)
                 .getResultList();
     }
 
+    @Transactional(readOnly = true)
     public List<Member> findByUsername_Querydsl(String username) {
-        return queryFactory.selectFrom(member)
-                .where(member.username.eq(username))
-                .fetch();
+        JPAQuery<Member> query = queryFactory.selectFrom(member)
+                .where(member.username.eq(username));
+        indexAdvisor.record(query.getMetadata());
+        return query.fetch();
     }
 
+    @Transactional(readOnly = true)
     public List<MemberTeamDto> searchByBuilder(MemberSearchCondition condition) {
         BooleanBuilder builder = new BooleanBuilder();
         if (hasText(condition.getUsername())) {
@@ -73,7 +151,7 @@ public class MemberJpaRepository {
             builder.and(member.age.loe(condition.getAgeLoe()));
         }
 
-        return queryFactory
+        JPAQuery<MemberTeamDto> query = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
@@ -83,12 +161,40 @@ public class MemberJpaRepository {
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(builder)
-                .fetch();
+                .where(builder);
+        indexAdvisor.record(query.getMetadata());
+        return query.fetch();
     }
 
+    @Transactional(readOnly = true)
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
+        JPAQuery<MemberTeamDto> query = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()));
+        indexAdvisor.record(query.getMetadata());
+        return query.fetch();
+    }
+
+    /**
+     * search() 와 같은 조건이지만 결과를 List 로 모으지 않고 한 건씩 consumer 에 넘긴다.
+     * - fetch() 는 전체 결과를 힙에 올리므로, 대용량 export 는 이쪽을 사용
+     * - forward-only 커서 + fetch size 로 드라이버도 일정 크기씩만 가져옴
+     * - DTO 로 바로 조회하므로 영속성 컨텍스트에도 쌓이지 않음
+     */
+    @Transactional(readOnly = true)
+    public long searchStream(MemberSearchCondition condition, Consumer<MemberTeamDto> consumer) {
+        JPAQuery<MemberTeamDto> query = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
@@ -102,7 +208,17 @@ public class MemberJpaRepository {
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe()))
-                .fetch();
+                .setHint(QueryHints.FETCH_SIZE, STREAM_FETCH_SIZE);
+        indexAdvisor.record(query.getMetadata());
+
+        long count = 0;
+        try (Stream<MemberTeamDto> stream = query.stream()) {
+            for (MemberTeamDto dto : (Iterable<MemberTeamDto>) stream::iterator) {
+                consumer.accept(dto);
+                count++;
+            }
+        }
+        return count;
     }
 
     private BooleanExpression usernameEq(String username) {
@@ -2,11 +2,14 @@ package study.querydsl.repository;
 
 
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.support.IndexAdvisor;
 
 import javax.persistence.EntityManager;
 import java.util.List;
@@ -22,13 +25,16 @@ public class MemberQueryRepository {
      * custom에 꼭 넣지 않고 별도로 분리해서 만드는 것도 방법.
      */
     private final JPAQueryFactory queryFactory;
+    private final IndexAdvisor indexAdvisor;
 
-    public MemberQueryRepository(EntityManager em) {
+    public MemberQueryRepository(EntityManager em, IndexAdvisor indexAdvisor) {
         this.queryFactory = new JPAQueryFactory(em);
+        this.indexAdvisor = indexAdvisor;
     }
 
+    @Transactional(readOnly = true)
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
+        JPAQuery<MemberTeamDto> query = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
@@ -41,8 +47,9 @@ public class MemberQueryRepository {
                 .where(usernameEq(condition.getUsername()),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe()))
-                .fetch();
+                        ageLoe(condition.getAgeLoe()));
+        indexAdvisor.record(query.getMetadata());
+        return query.fetch();
     }
 
     private BooleanExpression usernameEq(String username) {
@@ -1,17 +1,27 @@
 package study.querydsl.repository;
 
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.CursorPage;
+import study.querydsl.dto.MemberCursor;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.support.IndexAdvisor;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Future;
+import java.util.function.LongSupplier;
 
 import static org.aspectj.util.LangUtil.isEmpty;
 import static study.querydsl.entity.QMember.member;
@@ -20,33 +30,68 @@ import static study.querydsl.entity.QTeam.team;
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
     private final JPAQueryFactory queryFactory;
-
-    public MemberRepositoryImpl(EntityManager em) {
+    private final MemberSearchQueryTemplates queryTemplates;
+    private final CountQueryExecutor countQueryExecutor;
+    private final MemberCountCache memberCountCache;
+    private final MemberSearchCache memberSearchCache;
+    private final TeamRepository teamRepository;
+    private final IndexAdvisor indexAdvisor;
+
+    public MemberRepositoryImpl(EntityManager em, CountQueryExecutor countQueryExecutor,
+                                MemberCountCache memberCountCache, MemberSearchCache memberSearchCache,
+                                TeamRepository teamRepository, IndexAdvisor indexAdvisor) {
         this.queryFactory = new JPAQueryFactory(em);
+        this.queryTemplates = new MemberSearchQueryTemplates(em);
+        this.countQueryExecutor = countQueryExecutor;
+        this.memberCountCache = memberCountCache;
+        this.memberSearchCache = memberSearchCache;
+        this.teamRepository = teamRepository;
+        this.indexAdvisor = indexAdvisor;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
-                .select(new QMemberTeamDto(
-                        member.id,
-                        member.username,
-                        member.age,
-                        team.id,
-                        team.name
-                ))
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe()))
-                .fetch();
+        // 캐시 hit 도 같은 shape 의 조회이므로 어드바이저에는 캐시 확인 전에 기록
+        indexAdvisor.record(queryTemplates.contentMetadata(condition));
+        MemberCacheKey cacheKey = memberSearchCache.keyOf(condition, null);
+        List<MemberTeamDto> cached = memberSearchCache.getList(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<Long> teamIds = resolveTeamIds(condition);
+        if (isUnknownTeam(condition, teamIds)) {
+            return Collections.emptyList();
+        }
+        return memberSearchCache.put(cacheKey, queryTemplates.content(condition, teamIds).fetch());
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
-        List<MemberTeamDto> results = getMemberTeamDtos(condition, pageable);
+        indexAdvisor.record(queryTemplates.contentMetadata(condition));
+        // 같은 조건 + 같은 페이지 결과가 있으면 content/count 모두 생략
+        MemberCacheKey cacheKey = memberSearchCache.keyOf(condition, pageable);
+        Page<MemberTeamDto> cached = memberSearchCache.getPage(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<Long> teamIds = resolveTeamIds(condition);
+        if (isUnknownTeam(condition, teamIds)) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+
+        // 같은 조건으로 페이지만 넘기는 경우가 많으므로 count 는 캐시 (쓰기가 있으면 epoch 가 바뀌어 무효화됨)
+        MemberCacheKey countKey = memberCountCache.keyOf(condition);
+        Long cachedCount = memberCountCache.getIfPresent(countKey);
+
+        // 병렬 모드: content 쿼리를 실행하는 동안 count 쿼리를 다른 스레드에서 미리 실행
+        Future<Long> countFuture = cachedCount != null ? null
+                : countQueryExecutor.submit(() -> getCountJPAQuery(condition, teamIds).fetchOne());
+
+        List<MemberTeamDto> results = getMemberTeamDtos(condition, teamIds, pageable);
 
         /* count query 최적화하려면 따로 실행 (특히, 데이터가 많을때 고민 필요)
            - Querydsl fetchResults(), fetchCount() Deprecated(향후 미지원)
@@ -56,14 +101,42 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
            - 페이지 시작이면서 컨텐츠 사이즈가 페이지 사이즈보다 작을 때
            - 마지막 페이지 일때(offset + 컨텐츠 사이즈를 더해서 전체 사이즈를 구함)
          */
-        JPAQuery<Long> countQuery = getCountJPAQuery(condition);
-
-//        return PageableExecutionUtils.getPage(results, pageable, () -> countQuery.fetchOne());
-        return PageableExecutionUtils.getPage(results, pageable, countQuery::fetchOne);
+        LongSupplier total;
+        if (cachedCount != null) {
+            total = () -> cachedCount;
+        } else if (countFuture != null) {
+            total = () -> memberCountCache.load(countKey, () -> countQueryExecutor.await(countFuture));
+        } else {
+            // count 가 필요할 때만 쿼리를 만든다 (IndexAdvisor 에도 실제로 실행한 쿼리만 기록)
+            total = () -> memberCountCache.load(countKey, () -> getCountJPAQuery(condition, teamIds).fetchOne());
+        }
+
+        try {
+//            return PageableExecutionUtils.getPage(results, pageable, () -> countQuery.fetchOne());
+            return memberSearchCache.put(cacheKey, PageableExecutionUtils.getPage(results, pageable, total));
+        } finally {
+            // content 만으로 전체 건수를 알 수 있어서 count 가 필요 없었다면 취소 (이미 끝났으면 아무 일도 없음)
+            // 아직 큐에 있는 것만 빼고, 실행 중인 count 는 인터럽트하지 않음 (JDBC 호출/트랜잭션 도중 인터럽트 방지, 곧 끝남)
+            if (countFuture != null) {
+                countFuture.cancel(false);
+            }
+        }
     }
 
-    private List<MemberTeamDto> getMemberTeamDtos(MemberSearchCondition condition, Pageable pageable) {
-        List<MemberTeamDto> results = queryFactory
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<MemberTeamDto> searchAfter(MemberSearchCondition condition, MemberCursor cursor, int size) {
+        /* keyset(seek) 페이징
+           - offset은 앞쪽 로우를 모두 읽고 버리기 때문에 뒤 페이지로 갈수록 느려짐
+           - 마지막으로 읽은 키 다음부터 읽으면 페이지 깊이와 상관없이 비용이 일정함
+           - 다음 페이지 존재 여부는 size + 1 건을 조회해서 판단 (count 쿼리 불필요)
+         */
+        List<Long> teamIds = resolveTeamIds(condition);
+        if (isUnknownTeam(condition, teamIds)) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+
+        JPAQuery<MemberTeamDto> query = queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -75,36 +148,81 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                 .leftJoin(member.team, team)
                 .where(
                         usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
+                        teamIdIn(teamIds),
                         ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
+                        ageLoe(condition.getAgeLoe()),
+                        seek(cursor)
                 )
+                .orderBy(seekOrder(cursor.getOrder()))
+                .limit(size + 1);
+        indexAdvisor.record(query.getMetadata());
+        List<MemberTeamDto> results = query.fetch();
+
+        if (results.size() <= size) {
+            return new CursorPage<>(results, null);
+        }
+        List<MemberTeamDto> content = results.subList(0, size);
+        MemberTeamDto last = content.get(size - 1);
+        return new CursorPage<>(content, MemberCursor.after(cursor.getOrder(), last).encode());
+    }
+
+    private List<MemberTeamDto> getMemberTeamDtos(MemberSearchCondition condition, List<Long> teamIds, Pageable pageable) {
+        return queryTemplates.content(condition, teamIds)
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
-        return results;
     }
 
-    private JPAQuery<Long> getCountJPAQuery(MemberSearchCondition condition) {
-        JPAQuery<Long> countQuery = queryFactory
-                .select(member.count())
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                );
+    private JPAQuery<Long> getCountJPAQuery(MemberSearchCondition condition, List<Long> teamIds) {
+        JPAQuery<Long> countQuery = queryTemplates.count(condition, teamIds);
+        indexAdvisor.record(countQuery.getMetadata());
         return countQuery;
     }
 
+    /**
+     * teamName 조건을 team id 로 바꾼다. (쿼리 캐시를 사용하는 이름 → id 조회)
+     * team 을 조인하지 않고 member.team_id 로 바로 필터링하기 위함.
+     */
+    private List<Long> resolveTeamIds(MemberSearchCondition condition) {
+        if (isEmpty(condition.getTeamName())) {
+            return Collections.emptyList();
+        }
+        return teamRepository.findTeamIdsByName(condition.getTeamName());
+    }
+
+    // 해당 이름의 팀이 없으면 결과도 없으므로 쿼리를 실행하지 않아도 됨
+    private boolean isUnknownTeam(MemberSearchCondition condition, List<Long> teamIds) {
+        return !isEmpty(condition.getTeamName()) && teamIds.isEmpty();
+    }
+
+    private BooleanExpression seek(MemberCursor cursor) {
+        if (cursor.isFirst()) {
+            return null;
+        }
+        if (cursor.getOrder() == MemberCursor.Order.AGE) {
+            // (age, member_id) > (?, ?)
+            return member.age.gt(cursor.getAge())
+                    .or(member.age.eq(cursor.getAge()).and(member.id.gt(cursor.getMemberId())));
+        }
+        return member.id.gt(cursor.getMemberId());
+    }
+
+    private OrderSpecifier<?>[] seekOrder(MemberCursor.Order order) {
+        if (order == MemberCursor.Order.AGE) {
+            return new OrderSpecifier<?>[]{member.age.asc(), member.id.asc()};
+        }
+        return new OrderSpecifier<?>[]{member.id.asc()};
+    }
+
     private BooleanExpression usernameEq(String username) {
         return isEmpty(username) ? null : member.username.eq(username); // hasText() 도 가능
     }
 
-    private BooleanExpression teamNameEq(String teamName) {
-        return isEmpty(teamName) ? null : team.name.eq(teamName);
+    private BooleanExpression teamIdIn(List<Long> teamIds) {
+        if (teamIds.isEmpty()) {
+            return null;
+        }
+        return teamIds.size() == 1 ? member.team.id.eq(teamIds.get(0)) : member.team.id.in(teamIds);
     }
 
     private BooleanExpression ageGoe(Integer ageGoe) {
@@ -0,0 +1,85 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.hibernate.HibernateQueryFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 배치/export 용 대량 조회.
+ * findAll() 은 모든 Member 를 영속성 컨텍스트에 올려서 트랜잭션 끝까지 들고 있으므로 로우 수에 비례해서 메모리를 사용한다.
+ * - 읽기 전용 트랜잭션(findAll 자체의 readOnly 포함)이면 세션이 read-only 라서 dirty checking 스냅샷은 만들지 않음
+ * - 쓰기 트랜잭션 안에서 호출하면 스냅샷까지 들고 있으므로 (엔티티 크기 x 약 2)
+ * 여기서는 StatelessSession 으로 조회해서 1차 캐시/스냅샷 없이 chunk 단위로 넘기고 버린다.
+ * 주의
+ * - 넘겨받은 Member 는 준영속이 아니라 관리되지 않는 객체 → 변경해도 반영되지 않음
+ * - 지연 로딩 불가 (member.getTeam() 은 id 만 사용 가능)
+ */
+@Repository
+public class MemberScanRepository {
+
+    private final SessionFactory sessionFactory;
+    private final DataSource dataSource;
+
+    public MemberScanRepository(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * where 조건에 맞는 회원을 chunkSize 개씩 consumer 에 넘긴다. (where 가 null 이면 전체)
+     * forward-only 커서 + fetch size 로 드라이버도 chunkSize 씩만 가져온다.
+     *
+     * @return 전체 건수
+     */
+    @Transactional(readOnly = true)
+    public long scan(Predicate where, int chunkSize, Consumer<List<Member>> chunkConsumer) {
+        // 현재(읽기 전용) 트랜잭션의 커넥션을 같이 사용 → 레플리카 라우팅도 그대로 적용됨
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        StatelessSession session = sessionFactory.withStatelessOptions().connection(connection).openStatelessSession();
+        try {
+            ScrollableResults results = new HibernateQueryFactory(session)
+                    .selectFrom(member)
+                    .where(where)
+                    .setFetchSize(chunkSize)
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+            try {
+                long count = 0;
+                List<Member> chunk = new ArrayList<>(chunkSize);
+                while (results.next()) {
+                    chunk.add((Member) results.get(0));
+                    count++;
+                    if (chunk.size() == chunkSize) {
+                        chunkConsumer.accept(chunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    chunkConsumer.accept(chunk);
+                }
+                return count;
+            } finally {
+                results.close();
+            }
+        } finally {
+            session.close();
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package study.querydsl.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.support.DataVersion;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * search / searchPageComplex 결과 캐시. (member.search.result-cache.enabled=false 로 끌 수 있음)
+ * - 키: MemberCacheKey (정규화한 검색 조건 + 페이지 + DataVersion epoch)
+ *   → Member/Team 쓰기(영속성 컨텍스트를 거치지 않는 Querydsl bulk update/delete 포함)가 있으면 이전 항목은 더 이상 조회되지 않음
+ * - W-TinyLFU(Caffeine) 로 자주 쓰는 조건만 남기고, 크기는 row 수 합계로 제한
+ * - hit/miss/eviction 은 cache.* 메트릭(/actuator/metrics, cache=memberSearchCache)으로 노출
+ * 캐시에는 DTO 복사본을 넣고, hit 때도 복사본을 꺼내 준다. (MemberTeamDto 는 변경 가능하므로 요청끼리 공유하지 않음)
+ * 반환하는 목록은 캐시 여부와 관계없이 항상 수정할 수 없다.
+ * 쿼리 도중 쓰기가 있었으면(MemberCacheKey.isCurrent) 저장하지 않는다.
+ */
+@Component
+public class MemberSearchCache {
+
+    private final DataVersion dataVersion;
+    private final boolean enabled;
+    private final Cache<MemberCacheKey, Object> cache;
+
+    public MemberSearchCache(DataVersion dataVersion, MeterRegistry meterRegistry,
+                             @Value("${member.search.result-cache.enabled:true}") boolean enabled,
+                             @Value("${member.search.result-cache.maximum-rows:100000}") long maximumRows,
+                             @Value("${member.search.result-cache.ttl:60s}") Duration ttl) {
+        this.dataVersion = dataVersion;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumRows)
+                .weigher((MemberCacheKey key, Object result) -> rowsOf(result) + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "memberSearchCache");
+    }
+
+    /**
+     * 쿼리를 시작하기 전에 키를 만들어야 한다. 캐시를 끈 경우, 현재 트랜잭션에 커밋 전 쓰기가 있는 경우는 null.
+     *
+     * @param pageable search() 처럼 페이징이 없으면 null
+     */
+    public MemberCacheKey keyOf(MemberSearchCondition condition, Pageable pageable) {
+        return enabled ? MemberCacheKey.of(dataVersion, condition, pageable) : null;
+    }
+
+    public List<MemberTeamDto> getList(MemberCacheKey key) {
+        @SuppressWarnings("unchecked")
+        List<MemberTeamDto> cached = key == null ? null : (List<MemberTeamDto>) cache.getIfPresent(key);
+        return cached == null ? null : copyOf(cached);
+    }
+
+    public Page<MemberTeamDto> getPage(MemberCacheKey key) {
+        @SuppressWarnings("unchecked")
+        Page<MemberTeamDto> cached = key == null ? null : (Page<MemberTeamDto>) cache.getIfPresent(key);
+        return cached == null ? null : copyOf(cached);
+    }
+
+    public List<MemberTeamDto> put(MemberCacheKey key, List<MemberTeamDto> results) {
+        if (key != null && key.isCurrent(dataVersion)) {
+            cache.put(key, copyOf(results));
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    public Page<MemberTeamDto> put(MemberCacheKey key, Page<MemberTeamDto> page) {
+        if (key != null && key.isCurrent(dataVersion)) {
+            cache.put(key, copyOf(page));
+        }
+        return page; // PageImpl.getContent() 는 수정할 수 없는 목록
+    }
+
+    private static List<MemberTeamDto> copyOf(List<MemberTeamDto> results) {
+        List<MemberTeamDto> copy = new ArrayList<>(results.size());
+        for (MemberTeamDto dto : results) {
+            copy.add(new MemberTeamDto(dto.getMemberId(), dto.getUsername(), dto.getAge(), dto.getTeamId(), dto.getTeamName()));
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static Page<MemberTeamDto> copyOf(Page<MemberTeamDto> page) {
+        return new PageImpl<>(copyOf(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    private static int rowsOf(Object result) {
+        if (result instanceof Page) {
+            return ((Page<?>) result).getNumberOfElements();
+        }
+        return ((Collection<?>) result).size();
+    }
+}
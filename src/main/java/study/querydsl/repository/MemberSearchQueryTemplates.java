@@ -0,0 +1,134 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static study.querydsl.dto.MemberSearchCondition.AGE_GOE;
+import static study.querydsl.dto.MemberSearchCondition.AGE_LOE;
+import static study.querydsl.dto.MemberSearchCondition.SHAPE_COUNT;
+import static study.querydsl.dto.MemberSearchCondition.TEAM_NAME;
+import static study.querydsl.dto.MemberSearchCondition.USERNAME;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * MemberSearchCondition 은 선택 조건이 4개뿐이라 where 절 모양(shape)이 16가지로 정해져 있다.
+ * shape 별로 Param 자리표시자를 넣은 쿼리를 한 번만 만들어 두고, 요청마다 복제해서 값만 바인딩한다.
+ * - QMemberTeamDto, BooleanExpression 같은 표현식 트리를 요청마다 새로 만들지 않음
+ * - shape 별 JPQL 문자열이 항상 같으므로 하이버네이트 쿼리 플랜 캐시에서 파싱 결과를 재사용함
+ * 템플릿 자체는 실행하지 않고 clone() 만 하므로 여러 스레드에서 같이 써도 된다.
+ *
+ * teamName 조건은 미리 team id 로 바꿔서 member.team_id 로 필터링한다.
+ * - count 쿼리는 team 컬럼이 필요 없으므로 조인하지 않음
+ * - content 쿼리는 team 컬럼을 조회하기 때문에 조인은 유지하되, 필터는 외래키로 처리
+ */
+class MemberSearchQueryTemplates {
+
+    private static final Param<String> USERNAME_PARAM = new Param<>(String.class, "username");
+    private static final Param<Long> TEAM_ID_PARAM = new Param<>(Long.class, "teamId");
+    private static final Param<Integer> AGE_GOE_PARAM = new Param<>(Integer.class, "ageGoe");
+    private static final Param<Integer> AGE_LOE_PARAM = new Param<>(Integer.class, "ageLoe");
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final List<JPAQuery<MemberTeamDto>> contentTemplates = new ArrayList<>(SHAPE_COUNT);
+    private final List<JPAQuery<Long>> countTemplates = new ArrayList<>(SHAPE_COUNT);
+
+    MemberSearchQueryTemplates(EntityManager em) {
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+        for (int shape = 0; shape < SHAPE_COUNT; shape++) {
+            Predicate teamIdEq = (shape & TEAM_NAME) != 0 ? member.team.id.eq(TEAM_ID_PARAM) : null;
+            contentTemplates.add(contentQuery(where(shape, teamIdEq)));
+            countTemplates.add(countQuery(where(shape, teamIdEq)));
+        }
+    }
+
+    /**
+     * @param teamIds teamName 을 변환한 team id 목록 (teamName 조건이 없으면 무시됨)
+     */
+    JPAQuery<MemberTeamDto> content(MemberSearchCondition condition, List<Long> teamIds) {
+        int shape = condition.shape();
+        if (isAmbiguousTeam(shape, teamIds)) {
+            return bind(contentQuery(where(shape, member.team.id.in(teamIds))), condition, null);
+        }
+        return bind(contentTemplates.get(shape).clone(em), condition, teamIds);
+    }
+
+    JPAQuery<Long> count(MemberSearchCondition condition, List<Long> teamIds) {
+        int shape = condition.shape();
+        if (isAmbiguousTeam(shape, teamIds)) {
+            return bind(countQuery(where(shape, member.team.id.in(teamIds))), condition, null);
+        }
+        return bind(countTemplates.get(shape).clone(em), condition, teamIds);
+    }
+
+    /**
+     * shape 별 content 템플릿의 메타데이터 (인덱스 어드바이저 기록용, 실행하지 않으므로 복제하지 않음)
+     */
+    QueryMetadata contentMetadata(MemberSearchCondition condition) {
+        return contentTemplates.get(condition.shape()).getMetadata();
+    }
+
+    // 같은 이름의 팀이 여러 개인 경우 - 흔하지 않으므로 템플릿 없이 in 조건으로 조회
+    private static boolean isAmbiguousTeam(int shape, List<Long> teamIds) {
+        return (shape & TEAM_NAME) != 0 && teamIds.size() > 1;
+    }
+
+    private JPAQuery<MemberTeamDto> contentQuery(Predicate[] where) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(where);
+    }
+
+    private JPAQuery<Long> countQuery(Predicate[] where) {
+        return queryFactory
+                .select(member.count())
+                .from(member)
+                .where(where);
+    }
+
+    private static Predicate[] where(int shape, Predicate teamIdPredicate) {
+        return new Predicate[]{
+                (shape & USERNAME) != 0 ? member.username.eq(USERNAME_PARAM) : null,
+                teamIdPredicate,
+                (shape & AGE_GOE) != 0 ? member.age.goe(AGE_GOE_PARAM) : null,
+                (shape & AGE_LOE) != 0 ? member.age.loe(AGE_LOE_PARAM) : null
+        };
+    }
+
+    private static <T> JPAQuery<T> bind(JPAQuery<T> query, MemberSearchCondition condition, List<Long> teamIds) {
+        int shape = condition.shape();
+        if ((shape & USERNAME) != 0) {
+            query.set(USERNAME_PARAM, condition.getUsername());
+        }
+        if ((shape & TEAM_NAME) != 0 && teamIds != null) {
+            query.set(TEAM_ID_PARAM, teamIds.get(0));
+        }
+        if ((shape & AGE_GOE) != 0) {
+            query.set(AGE_GOE_PARAM, condition.getAgeGoe());
+        }
+        if ((shape & AGE_LOE) != 0) {
+            query.set(AGE_LOE_PARAM, condition.getAgeLoe());
+        }
+        return query;
+    }
+}
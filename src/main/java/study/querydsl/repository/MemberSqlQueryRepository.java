@@ -0,0 +1,82 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.MappingProjection;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.sql.SQLQueryFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.List;
+
+import static org.aspectj.util.LangUtil.isEmpty;
+import static study.querydsl.sql.SMember.member;
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * MemberQueryRepository.search 와 같은 검색을 querydsl-sql 로 실행한다.
+ * - JPQL 파싱, 영속성 컨텍스트, 리플렉션 기반 DTO 생성 없이 JDBC ResultSet 에서 바로 MemberTeamDto 를 만듦
+ * - 조회 전용 (엔티티가 필요하면 JPA 쪽을 사용)
+ */
+@Repository
+public class MemberSqlQueryRepository {
+
+    private static final MemberTeamDtoProjection MEMBER_TEAM_DTO = new MemberTeamDtoProjection();
+
+    private final SQLQueryFactory queryFactory;
+
+    public MemberSqlQueryRepository(SQLQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    @Transactional(readOnly = true)
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return queryFactory
+                .select(MEMBER_TEAM_DTO)
+                .from(member)
+                .leftJoin(team).on(member.teamId.eq(team.teamId))
+                .where(usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()))
+                .fetch();
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return isEmpty(username) ? null : member.username.eq(username);
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return isEmpty(teamName) ? null : team.name.eq(teamName);
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe == null ? null : member.age.goe(ageGoe);
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe == null ? null : member.age.loe(ageLoe);
+    }
+
+    // 생성자를 직접 호출 (Projections.constructor 는 리플렉션 사용)
+    private static class MemberTeamDtoProjection extends MappingProjection<MemberTeamDto> {
+
+        private static final long serialVersionUID = 1L;
+
+        MemberTeamDtoProjection() {
+            super(MemberTeamDto.class, member.memberId, member.username, member.age, team.teamId, team.name);
+        }
+
+        @Override
+        protected MemberTeamDto map(Tuple row) {
+            return new MemberTeamDto(
+                    row.get(member.memberId),
+                    row.get(member.username),
+                    row.get(member.age),
+                    row.get(team.teamId),
+                    row.get(team.name));
+        }
+    }
+}
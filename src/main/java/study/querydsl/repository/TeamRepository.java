@@ -0,0 +1,26 @@
+package study.querydsl.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Team;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+
+public interface TeamRepository extends JpaRepository<Team, Long> {
+    // select t from Team t where t.name = ?
+    // 쿼리 캐시 사용 - 결과 id 는 쿼리 캐시, 엔티티는 2차 캐시에서 가져옴 (team 테이블이 바뀌면 자동 무효화)
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+    @Transactional(readOnly = true)
+    List<Team> findTeamByName(String name);
+
+    // 검색 조건의 teamName 을 team id 로 바꿀 때 사용 (member.team_id 로 바로 필터링하기 위함)
+    @Query("select t.id from Team t where t.name = :name")
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+    @Transactional(readOnly = true)
+    List<Long> findTeamIdsByName(@Param("name") String name);
+
+}
@@ -0,0 +1,86 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.QTeamStatsDto;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.support.TeamStatsDelta;
+
+import javax.persistence.EntityManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.entity.QTeamStats.teamStats;
+
+/**
+ * team_stats 조회 / 반영 / 전체 재집계.
+ * 평소에는 TeamStatsEventListener, MemberBulkRepository 가 변경분만 반영하고,
+ * 이벤트를 거치지 않은 변경(SQL 직접 실행 등)은 rebuild() 로 맞춘다.
+ */
+@Repository
+public class TeamStatsRepository {
+
+    private static final String REBUILD_DELETE = "delete from team_stats";
+    private static final String REBUILD_INSERT = "insert into team_stats (team_id, member_count, age_sum, min_age, max_age)"
+            + " select t.team_id, count(m.member_id), coalesce(sum(m.age), 0), min(m.age), max(m.age)"
+            + " from team t left join member m on m.team_id = t.team_id"
+            + " group by t.team_id";
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+
+    public TeamStatsRepository(EntityManager em) {
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+    }
+
+    /**
+     * 팀별 통계 (팀 수만큼만 읽음, member 는 읽지 않음)
+     */
+    @Transactional(readOnly = true)
+    public List<TeamStatsDto> findAll() {
+        return queryFactory
+                .select(new QTeamStatsDto(
+                        teamStats.teamId,
+                        team.name,
+                        teamStats.memberCount,
+                        teamStats.ageSum,
+                        teamStats.minAge,
+                        teamStats.maxAge))
+                .from(teamStats)
+                .join(team).on(team.id.eq(teamStats.teamId))
+                .orderBy(team.name.asc(), teamStats.teamId.asc())
+                .fetch();
+    }
+
+    /**
+     * 현재 트랜잭션 안에서 바로 반영 (bulk 연산처럼 이벤트가 발생하지 않는 변경용)
+     */
+    @Transactional
+    public void apply(TeamStatsDelta delta) {
+        if (!delta.isEmpty()) {
+            em.unwrap(Session.class).doWork(delta::apply);
+        }
+    }
+
+    /**
+     * member/team 전체를 다시 집계해서 team_stats 를 새로 만든다.
+     * 실행 중에는 team_stats 전체에 락이 잡히므로, 동시에 커밋되는 변경분은 재집계가 끝난 뒤에 그 위로 반영된다.
+     *
+     * @return 집계된 팀 수
+     */
+    @Transactional
+    public int rebuild() {
+        em.flush();
+        // JDBC 로 직접 실행 → 네이티브 쿼리처럼 2차 캐시/쿼리 캐시 전체가 무효화되지 않음
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(REBUILD_DELETE);
+                return statement.executeUpdate(REBUILD_INSERT);
+            }
+        });
+    }
+}
@@ -0,0 +1,147 @@
+package study.querydsl.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberImportResult;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.TeamRepository;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV(username,age,teamName) 회원 적재.
+ * - 입력을 한 줄씩 읽고 chunkSize 건씩만 메모리에 두기 때문에 입력 크기와 상관없이 메모리가 일정함
+ * - chunk 마다 트랜잭션을 커밋하고, JDBC batch 로 insert 후 영속성 컨텍스트를 비움
+ * - 팀은 이름 → id 맵으로 한 번만 조회(없으면 생성)하고, 이후에는 초기화하지 않은 프록시만 사용
+ * - 따옴표로 감싼 필드는 지원하지 않음. 형식이 맞지 않는 줄은 건너뛰고 rejected 로 집계
+ */
+@Service
+public class MemberImportService {
+
+    private static final String HEADER = "username,age,teamName";
+
+    private final EntityManager em;
+    private final TeamRepository teamRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public MemberImportService(EntityManager em, TeamRepository teamRepository, PlatformTransactionManager transactionManager,
+                               @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int chunkSize) {
+        this.em = em;
+        this.teamRepository = teamRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public MemberImportResult importCsv(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        long imported = 0;
+        long rejected = 0;
+        Map<String, Long> teamIds = new HashMap<>();
+        List<MemberRow> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        boolean firstLine = true;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (firstLine) {
+                firstLine = false;
+                if (line.trim().equalsIgnoreCase(HEADER)) {
+                    continue;
+                }
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+
+            MemberRow row = MemberRow.parse(line);
+            if (row == null) {
+                rejected++;
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                imported += writeChunk(chunk, teamIds);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += writeChunk(chunk, teamIds);
+        }
+        return new MemberImportResult(imported, rejected, System.nanoTime() - start);
+    }
+
+    private int writeChunk(List<MemberRow> rows, Map<String, Long> teamIds) {
+        Integer written = transactionTemplate.execute(status -> {
+            for (MemberRow row : rows) {
+                Member member = new Member(row.username, row.age);
+                if (row.teamName != null) {
+                    // new Member(.., team) 는 team.getMembers() 에도 추가하면서 프록시를 초기화하므로 (clear() 후 chunk 마다 다시)
+                    // 외래키만 필요한 적재에서는 연관관계 주인 쪽만 설정
+                    member.setTeam(em.getReference(Team.class, teamIds.computeIfAbsent(row.teamName, this::findOrCreateTeam)));
+                }
+                em.persist(member);
+            }
+            em.flush();
+            em.clear();
+            return rows.size();
+        });
+        return written == null ? 0 : written;
+    }
+
+    private Long findOrCreateTeam(String name) {
+        List<Team> teams = teamRepository.findTeamByName(name);
+        if (!teams.isEmpty()) {
+            return teams.get(0).getId();
+        }
+        Team newTeam = new Team(name);
+        em.persist(newTeam); // 시퀀스 전략이라 persist 시점에 id 가 정해짐
+        return newTeam.getId();
+    }
+
+    private static class MemberRow {
+        private final String username;
+        private final int age;
+        private final String teamName;
+
+        private MemberRow(String username, int age, String teamName) {
+            this.username = username;
+            this.age = age;
+            this.teamName = teamName;
+        }
+
+        // 형식이 맞지 않으면 null
+        static MemberRow parse(String line) {
+            String[] columns = line.split(",", -1);
+            if (columns.length != 3) {
+                return null;
+            }
+            String username = columns[0].trim();
+            String teamName = columns[2].trim();
+            if (username.isEmpty()) {
+                return null;
+            }
+            try {
+                int age = Integer.parseInt(columns[1].trim());
+                if (age < 0) {
+                    return null;
+                }
+                return new MemberRow(username, age, teamName.isEmpty() ? null : teamName);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package study.querydsl.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import study.querydsl.repository.CountQueryExecutor;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 비동기 검색 API 용 executor.
+ * - 요청(Tomcat) 스레드는 바로 반환되고, 조회는 이 executor 에서 실행
+ * - 스레드 수를 커넥션 풀 크기에 맞춰서 DB 동시 실행 수를 의도적으로 제한
+ * - 큐가 가득 차거나 timeout 이 지나면 503 으로 응답
+ * - 작업 스레드에서는 count 쿼리를 병렬로 돌리지 않음 (CountQueryExecutor.callerRuns)
+ *   이 스레드가 커넥션을 잡은 채로 다른 스레드의 count 를 기다리면, 풀이 포화됐을 때 스스로를 기다리게 됨
+ */
+@Component
+public class MemberSearchExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public MemberSearchExecutor(MeterRegistry meterRegistry,
+                                @Value("${member.search.async.threads:${spring.datasource.hikari.maximum-pool-size:10}}") int threads,
+                                @Value("${member.search.async.queue-capacity:200}") int queueCapacity,
+                                @Value("${member.search.async.timeout:5s}") Duration timeout) {
+        this.timeout = timeout;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("member-search-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "memberSearchExecutor");
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> search) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    result.complete(CountQueryExecutor.callerRuns(search));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "검색 요청이 많습니다. 잠시 후 다시 시도해 주세요.", e));
+            return result;
+        }
+
+        // timeout 이면 아직 큐에 있거나 실행 중인 작업도 취소 (실행 중이면 인터럽트)
+        return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(failure -> {
+                    Throwable e = failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause() : failure;
+                    if (e instanceof TimeoutException) {
+                        task.cancel(true);
+                        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "검색 시간이 초과되었습니다.", e);
+                    }
+                    throw e instanceof RuntimeException ? (RuntimeException) e : new IllegalStateException(e);
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,40 @@
+package study.querydsl.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberSqlQueryRepository;
+
+import java.util.List;
+
+/**
+ * /v1/members 검색 경로 선택. (member.search.read-path)
+ * - jpa : MemberJpaRepository.search (기본값)
+ * - sql : MemberSqlQueryRepository.search - 엔티티/JPQL 없이 querydsl-sql 로 바로 조회
+ */
+@Service
+public class MemberSearchService {
+
+    public enum ReadPath {JPA, SQL}
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final MemberSqlQueryRepository memberSqlQueryRepository;
+    private final ReadPath readPath;
+
+    public MemberSearchService(MemberJpaRepository memberJpaRepository,
+                               MemberSqlQueryRepository memberSqlQueryRepository,
+                               @Value("${member.search.read-path:jpa}") ReadPath readPath) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.memberSqlQueryRepository = memberSqlQueryRepository;
+        this.readPath = readPath;
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        if (readPath == ReadPath.SQL) {
+            return memberSqlQueryRepository.search(condition);
+        }
+        return memberJpaRepository.search(condition);
+    }
+}
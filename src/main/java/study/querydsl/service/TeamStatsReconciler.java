@@ -0,0 +1,27 @@
+package study.querydsl.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import study.querydsl.repository.TeamStatsRepository;
+
+/**
+ * team_stats 를 주기적으로 전체 재집계한다.
+ * 변경분 반영에서 빠진 변경(SQL 직접 실행, 스냅샷 없는 update 등)이 있어도 다음 재집계에서 맞춰진다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamStatsReconciler {
+
+    private final TeamStatsRepository teamStatsRepository;
+
+    // 끄려면 team.stats.reconcile-cron=-
+    @Scheduled(cron = "${team.stats.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        int teams = teamStatsRepository.rebuild();
+        log.info("team_stats rebuilt: teams={}, elapsed={}ms", teams, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,60 @@
+package study.querydsl.sql;
+
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.ForeignKey;
+import com.querydsl.sql.PrimaryKey;
+import com.querydsl.sql.RelationalPathBase;
+
+import java.sql.Types;
+
+import static com.querydsl.core.types.PathMetadataFactory.forVariable;
+
+/**
+ * member 테이블 querydsl-sql 메타모델.
+ * querydsl-sql-codegen(MetaDataExporter) 가 만드는 형태와 같게 작성. (빌드 시점에 DB 가 없으므로 직접 관리)
+ * 엔티티(Member) 매핑이 바뀌면 같이 수정해야 한다.
+ */
+public class SMember extends RelationalPathBase<SMember> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final SMember member = new SMember("member");
+
+    public final NumberPath<Long> memberId = createNumber("memberId", Long.class);
+
+    public final StringPath username = createString("username");
+
+    public final NumberPath<Integer> age = createNumber("age", Integer.class);
+
+    public final NumberPath<Long> teamId = createNumber("teamId", Long.class);
+
+    public final PrimaryKey<SMember> primary = createPrimaryKey(memberId);
+
+    public final ForeignKey<STeam> teamFk = createForeignKey(teamId, "team_id");
+
+    public SMember(String variable) {
+        super(SMember.class, forVariable(variable), null, "member");
+        addMetadata();
+    }
+
+    public SMember(Path<? extends SMember> path) {
+        super(path.getType(), path.getMetadata(), null, "member");
+        addMetadata();
+    }
+
+    public SMember(PathMetadata metadata) {
+        super(SMember.class, metadata, null, "member");
+        addMetadata();
+    }
+
+    public void addMetadata() {
+        addMetadata(memberId, ColumnMetadata.named("member_id").withIndex(1).ofType(Types.BIGINT).withSize(19).notNull());
+        addMetadata(age, ColumnMetadata.named("age").withIndex(2).ofType(Types.INTEGER).withSize(10).notNull());
+        addMetadata(username, ColumnMetadata.named("username").withIndex(3).ofType(Types.VARCHAR).withSize(255));
+        addMetadata(teamId, ColumnMetadata.named("team_id").withIndex(4).ofType(Types.BIGINT).withSize(19));
+    }
+}
@@ -0,0 +1,52 @@
+package study.querydsl.sql;
+
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.ForeignKey;
+import com.querydsl.sql.PrimaryKey;
+import com.querydsl.sql.RelationalPathBase;
+
+import java.sql.Types;
+
+import static com.querydsl.core.types.PathMetadataFactory.forVariable;
+
+/**
+ * team 테이블 querydsl-sql 메타모델. (SMember 참고)
+ */
+public class STeam extends RelationalPathBase<STeam> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final STeam team = new STeam("team");
+
+    public final NumberPath<Long> teamId = createNumber("teamId", Long.class);
+
+    public final StringPath name = createString("name");
+
+    public final PrimaryKey<STeam> primary = createPrimaryKey(teamId);
+
+    public final ForeignKey<SMember> _memberTeamFk = createInvForeignKey(teamId, "team_id");
+
+    public STeam(String variable) {
+        super(STeam.class, forVariable(variable), null, "team");
+        addMetadata();
+    }
+
+    public STeam(Path<? extends STeam> path) {
+        super(path.getType(), path.getMetadata(), null, "team");
+        addMetadata();
+    }
+
+    public STeam(PathMetadata metadata) {
+        super(STeam.class, metadata, null, "team");
+        addMetadata();
+    }
+
+    public void addMetadata() {
+        addMetadata(teamId, ColumnMetadata.named("team_id").withIndex(1).ofType(Types.BIGINT).withSize(19).notNull());
+        addMetadata(name, ColumnMetadata.named("name").withIndex(2).ofType(Types.VARCHAR).withSize(255));
+    }
+}
@@ -0,0 +1,78 @@
+package study.querydsl.support;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Member/Team 데이터 버전(epoch).
+ * insert/update/delete SQL 이 실행될 때마다 증가하므로, 캐시 키에 포함시키면 쓰기 이후의 조회는 항상 새로 계산된다.
+ * - em.persist() 뿐 아니라 Querydsl bulk execute() 도 SQL 단계에서 잡히기 때문에 누락되지 않음
+ */
+@Component
+public class DataVersion {
+
+    // 재시작하면 epoch 가 처음부터 다시 시작하므로, 이전 프로세스에서 내려준 ETag 와 겹치지 않도록 시작 시각으로 시작값을 정함
+    private final AtomicLong epoch = new AtomicLong(System.currentTimeMillis() << 20);
+    private volatile long lastWriteNanos = System.nanoTime() - Long.MAX_VALUE / 2;
+
+    public long current() {
+        return epoch.get();
+    }
+
+    public void bump() {
+        epoch.incrementAndGet();
+    }
+
+    /**
+     * 쓰기 SQL 실행 시점에 한 번, 트랜잭션 종료 후에 한 번 더 올린다.
+     * 커밋 전에 다른 트랜잭션이 이전 데이터를 새 epoch 로 캐시해 두는 경우를 막기 위함.
+     */
+    public void bumpOnWrite() {
+        bump();
+        lastWriteNanos = System.nanoTime();
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !hasPendingWrites()) {
+            BumpAfterCompletion synchronization = new BumpAfterCompletion();
+            TransactionSynchronizationManager.bindResource(this, synchronization);
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 아직 커밋되지 않은 쓰기를 실행했는지 여부.
+     * true 이면 이 트랜잭션에서 본 결과를 다른 요청과 공유하는 캐시에 넣으면 안 된다.
+     */
+    public boolean hasPendingWrites() {
+        return TransactionSynchronizationManager.hasResource(this);
+    }
+
+    /**
+     * 최근 window 안에 쓰기(또는 쓰기 트랜잭션 종료)가 있었는지 여부. (레플리카 지연 허용 범위 판단용)
+     */
+    public boolean writtenWithin(Duration window) {
+        return System.nanoTime() - lastWriteNanos < window.toNanos();
+    }
+
+    private class BumpAfterCompletion implements TransactionSynchronization {
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(DataVersion.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(DataVersion.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DataVersion.this);
+            bump();
+            lastWriteNanos = System.nanoTime();
+        }
+    }
+}
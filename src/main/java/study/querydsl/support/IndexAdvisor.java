@@ -0,0 +1,233 @@
+package study.querydsl.support;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadata;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.Column;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.Table;
+import javax.persistence.metamodel.EntityType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 인덱스 어드바이저.
+ * 리포지토리가 실제로 실행한 Querydsl 쿼리의 where/order by 컬럼 조합(shape)을 모아 두고,
+ * 엔티티에 선언된 인덱스(@Table(indexes), PK)로 처리할 수 없는 컬럼을 알려준다.
+ * - 컬럼이 인덱스의 n 번째에 있으면, 앞의 n-1 개 컬럼도 조건에 있어야 인덱스를 탈 수 있다고 본다. (leftmost prefix)
+ * - /actuator/indexadvice 로 조회
+ */
+@Component
+public class IndexAdvisor {
+
+    private final Map<String, List<List<String>>> indexesByTable = new HashMap<>();
+    private final Map<QueryShape, LongAdder> executions = new ConcurrentHashMap<>();
+    // 경로 → {테이블, 컬럼}. 리플렉션은 경로마다 한 번만 (쿼리 shape 가 정해져 있으므로 경로 수도 몇 개 안 됨)
+    private final Map<Path<?>, Optional<String[]>> columnsByPath = new ConcurrentHashMap<>();
+
+    public IndexAdvisor(EntityManagerFactory emf) {
+        for (EntityType<?> entity : emf.getMetamodel().getEntities()) {
+            Class<?> type = entity.getJavaType();
+            List<List<String>> indexes = new ArrayList<>();
+            String pk = primaryKeyColumn(type);
+            if (pk != null) {
+                indexes.add(Collections.singletonList(pk));
+            }
+            Table table = type.getAnnotation(Table.class);
+            if (table != null) {
+                for (Index index : table.indexes()) {
+                    indexes.add(Arrays.stream(index.columnList().split(","))
+                            .map(column -> column.trim().toLowerCase())
+                            .collect(Collectors.toList()));
+                }
+            }
+            indexesByTable.put(tableName(type), indexes);
+        }
+    }
+
+    public void record(QueryMetadata metadata) {
+        Map<String, Set<String>> filtered = new HashMap<>();
+        Map<String, Set<String>> sorted = new HashMap<>();
+        if (metadata.getWhere() != null) {
+            collectColumns(metadata.getWhere(), filtered);
+        }
+        for (OrderSpecifier<?> order : metadata.getOrderBy()) {
+            collectColumns(order.getTarget(), sorted);
+        }
+
+        Set<String> tables = new TreeSet<>(filtered.keySet());
+        tables.addAll(sorted.keySet());
+        for (String table : tables) {
+            QueryShape shape = new QueryShape(table,
+                    new TreeSet<>(filtered.getOrDefault(table, Collections.emptySet())),
+                    new ArrayList<>(sorted.getOrDefault(table, Collections.emptySet())));
+            executions.computeIfAbsent(shape, key -> new LongAdder()).increment();
+        }
+    }
+
+    public List<IndexAdvice> report() {
+        List<IndexAdvice> advices = new ArrayList<>();
+        executions.forEach((shape, count) -> advices.add(advise(shape, count.sum())));
+        advices.sort((a, b) -> Long.compare(b.getExecutions(), a.getExecutions()));
+        return advices;
+    }
+
+    private IndexAdvice advise(QueryShape shape, long count) {
+        List<List<String>> indexes = indexesByTable.getOrDefault(shape.table, Collections.emptyList());
+        List<String> unindexedFilters = shape.filtered.stream()
+                .filter(column -> !isSupported(column, shape.filtered, indexes))
+                .collect(Collectors.toList());
+        Set<String> usable = new TreeSet<>(shape.filtered);
+        List<String> unindexedSorts = new ArrayList<>();
+        for (String column : shape.sorted) {
+            if (!isSupported(column, usable, indexes)) {
+                unindexedSorts.add(column);
+            }
+            usable.add(column);
+        }
+        return new IndexAdvice(shape.table, new ArrayList<>(shape.filtered), shape.sorted, count,
+                unindexedFilters, unindexedSorts);
+    }
+
+    private static boolean isSupported(String column, Set<String> available, List<List<String>> indexes) {
+        for (List<String> index : indexes) {
+            int position = index.indexOf(column);
+            if (position >= 0 && available.containsAll(index.subList(0, position))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void collectColumns(Expression<?> expression, Map<String, Set<String>> columns) {
+        if (expression instanceof Path) {
+            columnsByPath.computeIfAbsent((Path<?>) expression, path -> Optional.ofNullable(columnOf(path)))
+                    .ifPresent(column -> columns.computeIfAbsent(column[0], table -> new LinkedHashSet<>()).add(column[1]));
+        } else if (expression instanceof Operation) {
+            for (Expression<?> arg : ((Operation<?>) expression).getArgs()) {
+                collectColumns(arg, columns);
+            }
+        }
+    }
+
+    /**
+     * Querydsl 경로를 {테이블, 컬럼} 으로 바꾼다.
+     * - member.username → {member, username}
+     * - member.team.id  → {member, team_id} (조인 없이 외래키 컬럼으로 처리됨)
+     */
+    private String[] columnOf(Path<?> path) {
+        PathMetadata metadata = path.getMetadata();
+        Path<?> parent = metadata.getParent();
+        if (parent == null) {
+            return null;
+        }
+        if (parent.getMetadata().isRoot()) {
+            Class<?> entity = parent.getType();
+            return new String[]{tableName(entity), columnName(entity, metadata.getName())};
+        }
+        Path<?> owner = parent.getMetadata().getParent();
+        if (owner != null && owner.getMetadata().isRoot() && metadata.getName().equals(idFieldName(parent.getType()))) {
+            Class<?> entity = owner.getType();
+            return new String[]{tableName(entity), columnName(entity, parent.getMetadata().getName())};
+        }
+        return null;
+    }
+
+    // 스프링 부트 기본 네이밍 전략(camelCase → snake_case)을 따른다.
+    private static String tableName(Class<?> entity) {
+        Table table = entity.getAnnotation(Table.class);
+        return table != null && !table.name().isEmpty() ? table.name().toLowerCase() : snakeCase(entity.getSimpleName());
+    }
+
+    private static String columnName(Class<?> entity, String property) {
+        Field field = ReflectionUtils.findField(entity, property);
+        if (field == null) {
+            return snakeCase(property);
+        }
+        JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        if (joinColumn != null && !joinColumn.name().isEmpty()) {
+            return joinColumn.name().toLowerCase();
+        }
+        Column column = field.getAnnotation(Column.class);
+        if (column != null && !column.name().isEmpty()) {
+            return column.name().toLowerCase();
+        }
+        return snakeCase(property);
+    }
+
+    private static String primaryKeyColumn(Class<?> entity) {
+        String idField = idFieldName(entity);
+        return idField == null ? null : columnName(entity, idField);
+    }
+
+    private static String idFieldName(Class<?> entity) {
+        for (Class<?> type = entity; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class)) {
+                    return field.getName();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String snakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+
+    @EqualsAndHashCode
+    private static class QueryShape {
+        private final String table;
+        private final Set<String> filtered;
+        private final List<String> sorted;
+
+        QueryShape(String table, Set<String> filtered, List<String> sorted) {
+            this.table = table;
+            this.filtered = filtered;
+            this.sorted = sorted;
+        }
+    }
+
+    @Getter
+    public static class IndexAdvice {
+        private final String table;
+        private final List<String> filteredColumns;
+        private final List<String> sortedColumns;
+        private final long executions;
+        private final List<String> unindexedFilters; // 인덱스 없이 필터링된 컬럼
+        private final List<String> unindexedSorts;   // 인덱스 없이 정렬된 컬럼
+
+        IndexAdvice(String table, List<String> filteredColumns, List<String> sortedColumns, long executions,
+                    List<String> unindexedFilters, List<String> unindexedSorts) {
+            this.table = table;
+            this.filteredColumns = filteredColumns;
+            this.sortedColumns = sortedColumns;
+            this.executions = executions;
+            this.unindexedFilters = unindexedFilters;
+            this.unindexedSorts = unindexedSorts;
+        }
+    }
+}
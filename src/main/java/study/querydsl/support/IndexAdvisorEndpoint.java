@@ -0,0 +1,23 @@
+package study.querydsl.support;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "indexadvice")
+public class IndexAdvisorEndpoint {
+
+    private final IndexAdvisor indexAdvisor;
+
+    public IndexAdvisorEndpoint(IndexAdvisor indexAdvisor) {
+        this.indexAdvisor = indexAdvisor;
+    }
+
+    @ReadOperation
+    public List<IndexAdvisor.IndexAdvice> indexAdvice() {
+        return indexAdvisor.report();
+    }
+}
@@ -0,0 +1,334 @@
+package study.querydsl.support;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MemberTeamDto 목록/페이지 바이너리 인코딩. (서비스 간 호출용, JSON 인코딩/디코딩 비용 제거)
+ * <pre>
+ * version(1)  flags(1: PAGE)
+ * [PAGE 일 때] number(varint) size(varint) totalElements(varlong)
+ * count(varint)
+ * row * count
+ *   memberId   varlong (값 + 1, null 이면 0)
+ *   username   string
+ *   age        zigzag varint
+ *   team       varint (0: 팀 없음, n: n-1 번째 팀)
+ *              → 처음 나온 팀이면(n-1 == 지금까지 나온 팀 수) 뒤에 teamId(varlong) + teamName(string) 이 이어짐
+ * string = 길이 + 1 (varint, null 이면 0) + UTF-8 bytes
+ * </pre>
+ * 같은 팀 이름은 응답마다 한 번만 쓰고, 디코딩 시에도 같은 String 인스턴스를 공유한다.
+ * 디코딩은 잘못된(잘리거나 손상된) 입력이면 IOException 을 던진다. (입력에 적힌 건수/길이만큼 미리 할당하지 않음)
+ */
+public final class MemberBinaryCodec {
+
+    static final int VERSION = 1;
+    static final int FLAG_PAGE = 1;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    // 디코딩 시 count 를 믿고 큰 배열을 미리 할당하지 않도록 초기 용량 제한
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+    // 요청 스레드마다 버퍼 하나를 재사용 (응답마다 할당하지 않음)
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    private MemberBinaryCodec() {
+    }
+
+    public static void encode(List<MemberTeamDto> rows, OutputStream out) throws IOException {
+        new Encoder(out).write(null, rows);
+    }
+
+    public static void encode(Page<MemberTeamDto> page, OutputStream out) throws IOException {
+        new Encoder(out).write(page, page.getContent());
+    }
+
+    public static List<MemberTeamDto> decodeList(InputStream in) throws IOException {
+        return decodePage(in).getContent();
+    }
+
+    /**
+     * 목록으로 인코딩된 값이면 전체를 한 페이지로 반환한다.
+     */
+    public static Page<MemberTeamDto> decodePage(InputStream in) throws IOException {
+        return new Decoder(in).read();
+    }
+
+    private static final class Encoder {
+
+        private final OutputStream out;
+        private final byte[] buffer = BUFFERS.get();
+        private int position;
+
+        private Encoder(OutputStream out) {
+            this.out = out;
+        }
+
+        private void write(Page<MemberTeamDto> page, List<MemberTeamDto> rows) throws IOException {
+            writeByte(VERSION);
+            writeByte(page != null ? FLAG_PAGE : 0);
+            if (page != null) {
+                writeVarLong(page.getNumber());
+                writeVarLong(page.getSize());
+                writeVarLong(page.getTotalElements());
+            }
+            writeVarLong(rows.size());
+
+            List<Long> teamIds = new ArrayList<>();
+            for (MemberTeamDto row : rows) {
+                writeVarLong(row.getMemberId() == null ? 0 : row.getMemberId() + 1);
+                writeString(row.getUsername());
+                writeVarLong(Integer.toUnsignedLong((row.getAge() << 1) ^ (row.getAge() >> 31)));
+                writeTeam(row, teamIds);
+            }
+            flush();
+        }
+
+        private void writeTeam(MemberTeamDto row, List<Long> teamIds) throws IOException {
+            if (row.getTeamId() == null) {
+                writeVarLong(0);
+                return;
+            }
+            // 한 응답의 팀 수는 적으므로 선형 탐색
+            int index = teamIds.indexOf(row.getTeamId());
+            if (index >= 0) {
+                writeVarLong(index + 1);
+                return;
+            }
+            teamIds.add(row.getTeamId());
+            writeVarLong(teamIds.size());
+            writeVarLong(row.getTeamId());
+            writeString(row.getTeamName());
+        }
+
+        private void writeByte(int value) throws IOException {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            int length = utf8Length(value);
+            writeVarLong(length + 1L);
+            if (length > buffer.length) {
+                flush();
+                out.write(value.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            ensure(length);
+            // String.getBytes() 로 배열을 만들지 않고 버퍼에 바로 인코딩
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    buffer[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xC0 | (c >> 6));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    if (isSurrogatePair(value, i)) {
+                        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                        buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                        buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                        buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                        buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                    } else {
+                        buffer[position++] = '?'; // 짝이 없는 surrogate 는 String.getBytes() 와 같게 '?'
+                    }
+                } else {
+                    buffer[position++] = (byte) (0xE0 | (c >> 12));
+                    buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private static int utf8Length(String value) {
+            int length = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    length += 1;
+                } else if (c < 0x800) {
+                    length += 2;
+                } else if (Character.isSurrogate(c)) {
+                    if (isSurrogatePair(value, i)) {
+                        length += 4;
+                        i++;
+                    } else {
+                        length += 1;
+                    }
+                } else {
+                    length += 3;
+                }
+            }
+            return length;
+        }
+
+        private static boolean isSurrogatePair(String value, int index) {
+            return Character.isHighSurrogate(value.charAt(index))
+                    && index + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(index + 1));
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (position + bytes > buffer.length) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static final class Decoder {
+
+        private final InputStream in;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        private Decoder(InputStream in) {
+            this.in = in;
+        }
+
+        private Page<MemberTeamDto> read() throws IOException {
+            int version = readByte();
+            if (version != VERSION) {
+                throw new IOException("지원하지 않는 버전입니다: " + version);
+            }
+            boolean paged = (readByte() & FLAG_PAGE) != 0;
+            int number = 0;
+            int size = 0;
+            long totalElements = -1;
+            if (paged) {
+                number = readInt("number");
+                size = readInt("size");
+                totalElements = readVarLong();
+                if (totalElements < 0) {
+                    throw new IOException("잘못된 totalElements 입니다: " + totalElements);
+                }
+            }
+
+            int count = readInt("count");
+            List<MemberTeamDto> rows = new ArrayList<>(Math.min(count, MAX_INITIAL_CAPACITY));
+            List<Long> teamIds = new ArrayList<>();
+            List<String> teamNames = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                long memberId = readVarLong();
+                String username = readString();
+                long zigzag = readVarLong();
+                if ((zigzag & ~0xFFFFFFFFL) != 0) {
+                    throw new IOException("잘못된 age 입니다: " + zigzag);
+                }
+                int age = (int) (zigzag >>> 1) ^ -(int) (zigzag & 1);
+
+                long team = readVarLong();
+                // 0(팀 없음), 이미 나온 팀, 또는 바로 다음 새 팀만 가능
+                if (team < 0 || team > teamIds.size() + 1L) {
+                    throw new IOException("잘못된 team 입니다: " + team);
+                }
+                Long teamId = null;
+                String teamName = null;
+                if (team > 0) {
+                    if (team - 1 == teamIds.size()) {
+                        teamIds.add(readVarLong());
+                        teamNames.add(readString());
+                    }
+                    teamId = teamIds.get((int) team - 1);
+                    teamName = teamNames.get((int) team - 1);
+                }
+                rows.add(new MemberTeamDto(memberId == 0 ? null : memberId - 1, username, age, teamId, teamName));
+            }
+
+            if (!paged) {
+                return new PageImpl<>(rows);
+            }
+            Pageable pageable = size > 0 ? PageRequest.of(number, size) : Pageable.unpaged();
+            return new PageImpl<>(rows, pageable, totalElements);
+        }
+
+        private int readInt(String name) throws IOException {
+            long value = readVarLong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IOException("잘못된 " + name + " 입니다: " + value);
+            }
+            return (int) value;
+        }
+
+        private int readByte() throws IOException {
+            if (position == limit) {
+                fill();
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("잘못된 varint 입니다.");
+        }
+
+        private String readString() throws IOException {
+            int length = readInt("string length") - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length <= limit - position) {
+                String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+                position += length;
+                return value;
+            }
+            // 버퍼 경계에 걸친 문자열
+            // 길이만큼 미리 할당하지 않고 readNBytes 로 읽은 만큼만 (손상된 길이 값으로 큰 배열을 잡지 않도록)
+            int buffered = limit - position;
+            byte[] rest = in.readNBytes(length - buffered);
+            if (rest.length < length - buffered) {
+                throw new EOFException();
+            }
+            byte[] bytes = new byte[length];
+            System.arraycopy(buffer, position, bytes, 0, buffered);
+            System.arraycopy(rest, 0, bytes, buffered, rest.length);
+            position = limit;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void fill() throws IOException {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                throw new EOFException();
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package study.querydsl.support;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.util.StreamUtils;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Page/List&lt;MemberTeamDto&gt; 바이너리 응답. (Accept: application/vnd.querydsl.member-binary 일 때만, 형식은 MemberBinaryCodec 참고)
+ * 서비스 간 호출용. 호출하는 쪽은 RestTemplate 에 같은 컨버터를 등록하거나 MemberBinaryCodec 으로 바로 디코딩하면 된다.
+ */
+public class MemberBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String MEMBER_BINARY_VALUE = "application/vnd.querydsl.member-binary";
+    public static final MediaType MEMBER_BINARY = MediaType.parseMediaType(MEMBER_BINARY_VALUE);
+
+    public MemberBinaryHttpMessageConverter() {
+        super(MEMBER_BINARY);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Page.class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && supports(clazz) && isMemberTeamDtoContainer(type != null ? type : clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return mediaType != null && MEMBER_BINARY.includes(mediaType)
+                && supports(ResolvableType.forType(type).toClass()) && isMemberTeamDtoContainer(type);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readInternal(ResolvableType.forType(type).toClass(), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        Page<MemberTeamDto> page = MemberBinaryCodec.decodePage(inputMessage.getBody());
+        return Page.class.isAssignableFrom(clazz) ? page : page.getContent();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (value instanceof Page) {
+            MemberBinaryCodec.encode((Page<MemberTeamDto>) value, StreamUtils.nonClosing(outputMessage.getBody()));
+        } else {
+            MemberBinaryCodec.encode((List<MemberTeamDto>) value, StreamUtils.nonClosing(outputMessage.getBody()));
+        }
+    }
+
+    private static boolean isMemberTeamDtoContainer(Type type) {
+        Class<?> element = ResolvableType.forType(type).getGeneric(0).resolve();
+        return element != null && MemberTeamDto.class.isAssignableFrom(element);
+    }
+}
@@ -0,0 +1,170 @@
+package study.querydsl.support;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Page/List&lt;MemberTeamDto&gt; 를 컬럼 단위 JSON 으로 쓴다. (Accept: application/vnd.querydsl.columnar+json 일 때만)
+ * 객체 배열은 row 마다 필드 이름을 반복하므로, 필드별 배열 + 팀 사전으로 바꿔서 크기와 직렬화 비용을 줄인다.
+ * <pre>
+ * {
+ *   "page": {"number": 0, "size": 200, "totalElements": 1234, "totalPages": 7},   // Page 일 때만
+ *   "memberId": [1, 2, ...],
+ *   "username": ["member1", "member2", ...],
+ *   "age": [10, 20, ...],
+ *   "team": [0, 0, 1, -1, ...],                                                    // teams 의 인덱스, 팀이 없으면 -1
+ *   "teams": {"teamId": [1, 2], "teamName": ["teamA", "teamB"]}
+ * }
+ * </pre>
+ * DTO 를 중간 객체로 바꾸지 않고 JsonGenerator 로 바로 쓴다.
+ */
+public class MemberColumnarJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String COLUMNAR_JSON_VALUE = "application/vnd.querydsl.columnar+json";
+    public static final MediaType COLUMNAR_JSON = MediaType.parseMediaType(COLUMNAR_JSON_VALUE);
+
+    private final ObjectMapper objectMapper;
+
+    public MemberColumnarJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(COLUMNAR_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Page.class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        // Accept 로 명시적으로 요청한 경우만 (mediaType 이 null 이면 기본 응답 형식 후보를 고르는 중이므로 빠짐)
+        // 응답 가능한 형식으로 광고하는 것은 컨트롤러의 produces 에서 한다. (여기서 광고하면 Accept: */* 에도 선택됨)
+        if (mediaType == null || !COLUMNAR_JSON.includes(mediaType) || !supports(clazz)) {
+            return false;
+        }
+        // Page<MemberTeamDto>, List<MemberTeamDto> 만 (타입 정보가 없으면 쓰지 않음)
+        Class<?> element = ResolvableType.forType(type != null ? type : clazz).getGeneric(0).resolve();
+        return element != null && MemberTeamDto.class.isAssignableFrom(element);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("columnar JSON 은 응답 전용입니다.", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("columnar JSON 은 응답 전용입니다.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        write(value, StreamUtils.nonClosing(outputMessage.getBody()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void write(Object value, OutputStream out) throws IOException {
+        Page<MemberTeamDto> page = value instanceof Page ? (Page<MemberTeamDto>) value : null;
+        List<MemberTeamDto> rows = page != null ? page.getContent() : (List<MemberTeamDto>) value;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            if (page != null) {
+                generator.writeObjectFieldStart("page");
+                generator.writeNumberField("number", page.getNumber());
+                generator.writeNumberField("size", page.getSize());
+                generator.writeNumberField("totalElements", page.getTotalElements());
+                generator.writeNumberField("totalPages", page.getTotalPages());
+                generator.writeEndObject();
+            }
+
+            generator.writeArrayFieldStart("memberId");
+            for (MemberTeamDto row : rows) {
+                writeNullable(generator, row.getMemberId());
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("username");
+            for (MemberTeamDto row : rows) {
+                generator.writeString(row.getUsername());
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("age");
+            for (MemberTeamDto row : rows) {
+                generator.writeNumber(row.getAge());
+            }
+            generator.writeEndArray();
+
+            // 팀은 종류가 적으므로 사전(teams)에 한 번씩만 쓰고 row 에는 인덱스만 씀
+            Map<Long, Integer> teamIndex = new HashMap<>();
+            List<MemberTeamDto> teams = new ArrayList<>();
+            generator.writeArrayFieldStart("team");
+            for (MemberTeamDto row : rows) {
+                if (row.getTeamId() == null) {
+                    generator.writeNumber(-1);
+                    continue;
+                }
+                Integer index = teamIndex.get(row.getTeamId());
+                if (index == null) {
+                    index = teams.size();
+                    teamIndex.put(row.getTeamId(), index);
+                    teams.add(row);
+                }
+                generator.writeNumber(index);
+            }
+            generator.writeEndArray();
+
+            generator.writeObjectFieldStart("teams");
+            generator.writeArrayFieldStart("teamId");
+            for (MemberTeamDto team : teams) {
+                generator.writeNumber(team.getTeamId());
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("teamName");
+            for (MemberTeamDto team : teams) {
+                generator.writeString(team.getTeamName());
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeNullable(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package study.querydsl.support;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 레플리카, 나머지는 프라이머리로 보낸다.
+ * - 트랜잭션 시작 시점에는 readOnly 플래그가 아직 설정되지 않으므로 LazyConnectionDataSourceProxy 로 감싸서 사용해야 함
+ * - maxLag 가 0 보다 크면, 최근 maxLag 안에 쓰기가 있었을 때 읽기도 프라이머리로 보낸다. (복제 지연으로 방금 쓴 데이터가 안 보이는 것 방지)
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {PRIMARY, REPLICA}
+
+    private final DataVersion dataVersion;
+    private final Duration maxLag;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, DataVersion dataVersion, Duration maxLag) {
+        this.dataVersion = dataVersion;
+        this.maxLag = maxLag;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Route.PRIMARY, primary);
+        targets.put(Route.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        if (!maxLag.isZero() && dataVersion.writtenWithin(maxLag)) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+}
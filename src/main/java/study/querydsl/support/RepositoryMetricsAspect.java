@@ -0,0 +1,103 @@
+package study.querydsl.support;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.CursorPage;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 리포지토리 메서드별, 검색 조건 shape 별 메트릭.
+ * - member.repository: 실행 시간 (p50, p90, p99)
+ * - member.repository.rows: 반환 row 수
+ * - member.repository.statements: 실행한 SQL 수
+ * 조회: /actuator/metrics/member.repository?tag=method:MemberRepository.search&tag=shape:username
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    private static final String NO_CONDITION = "-";
+
+    private final MeterRegistry meterRegistry;
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * study.querydsl.repository.MemberJpaRepository.*(..))"
+            + " || execution(public * study.querydsl.repository.MemberRepositoryImpl.*(..))"
+            + " || execution(public * study.querydsl.repository.MemberQueryRepository.*(..))"
+            + " || execution(public * study.querydsl.repository.MemberSqlQueryRepository.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        Tags tags = Tags.of(
+                "method", joinPoint.getSignature().getDeclaringType().getSimpleName()
+                        + "." + joinPoint.getSignature().getName(),
+                "shape", shapeOf(joinPoint.getArgs()));
+
+        long statementsBefore = SqlStatementCounter.total();
+        long start = System.nanoTime();
+        String outcome = "success";
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            Timer.builder("member.repository")
+                    .tags(tags).tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.9, 0.99)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("member.repository.rows")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(rowsOf(result));
+            DistributionSummary.builder("member.repository.statements")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(SqlStatementCounter.total() - statementsBefore);
+        }
+    }
+
+    private static String shapeOf(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof MemberSearchCondition) {
+                return ((MemberSearchCondition) arg).shapeName();
+            }
+        }
+        return NO_CONDITION;
+    }
+
+    private static long rowsOf(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Page) {
+            return ((Page<?>) result).getNumberOfElements();
+        }
+        if (result instanceof CursorPage) {
+            return ((CursorPage<?>) result).getContent().size();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        // searchStream, saveAll 은 처리한 건수를 반환
+        if (result instanceof Long) {
+            return (Long) result;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,116 @@
+package study.querydsl.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.jdbc.internal.FormatStyle;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 실행된 SQL 중 일부(sample-rate)와 느린 SQL(slow-threshold 이상)만 로그로 남긴다.
+ * - 요청 스레드는 링 버퍼에 넣기만 하고, SQL 포맷/로그 출력은 별도 스레드에서 한다.
+ * - 샘플링 되지 않은 SQL 은 시간 비교 한 번으로 끝난다.
+ * - 로그 스레드는 버퍼가 비어 있으면 잠들고, 샘플링된 SQL 을 넣는 쪽에서 깨운다. (대기 중 주기적으로 깨어나지 않음)
+ */
+@Slf4j
+public class SampledSqlLogger implements AutoCloseable {
+
+    // 깨우는 신호를 놓쳐도 이 시간 안에는 다시 확인 (close() 도 이 시간 안에 반영됨)
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final SqlLogRingBuffer<Entry> buffer;
+    private final LongAdder sampled = new LongAdder();
+    private final Thread drainer;
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    public SampledSqlLogger(double sampleRate, Duration slowThreshold, int bufferSize) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.buffer = new SqlLogRingBuffer<>(bufferSize);
+        this.drainer = new Thread(this::drain, "sql-log");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * JDBC 실행이 끝날 때마다 호출된다. (요청 스레드)
+     */
+    void onExecute(String sql, long elapsedNanos) {
+        boolean slow = elapsedNanos >= slowThresholdNanos;
+        if (slow || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            sampled.increment();
+            if (buffer.offer(new Entry(sql, elapsedNanos, slow)) && idle) {
+                LockSupport.unpark(drainer);
+            }
+        }
+    }
+
+    /**
+     * 로그 대상으로 뽑힌 건수 (버퍼가 가득 차서 버린 건수 포함)
+     */
+    public long sampled() {
+        return sampled.sum();
+    }
+
+    public long dropped() {
+        return buffer.dropped();
+    }
+
+    private void drain() {
+        while (running) {
+            Entry entry = buffer.poll();
+            if (entry == null) {
+                // idle 을 먼저 켜고 한 번 더 확인 → 그 사이에 들어온 항목은 여기서 보거나, 넣은 쪽이 unpark 함
+                idle = true;
+                entry = buffer.poll();
+                if (entry == null) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    idle = false;
+                    continue;
+                }
+                idle = false;
+            }
+            write(entry);
+        }
+        for (Entry entry = buffer.poll(); entry != null; entry = buffer.poll()) {
+            write(entry);
+        }
+    }
+
+    private void write(Entry entry) {
+        if (entry.sql == null) {
+            return;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(entry.elapsedNanos);
+        if (entry.slow) {
+            log.warn("slow sql {}ms{}", millis, FormatStyle.BASIC.getFormatter().format(entry.sql));
+        } else if (log.isInfoEnabled()) {
+            log.info("sql {}ms{}", millis, FormatStyle.BASIC.getFormatter().format(entry.sql));
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(drainer);
+        drainer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private static final class Entry {
+        private final String sql;
+        private final long elapsedNanos;
+        private final boolean slow;
+
+        private Entry(String sql, long elapsedNanos, boolean slow) {
+            this.sql = sql;
+            this.elapsedNanos = elapsedNanos;
+            this.slow = slow;
+        }
+    }
+}
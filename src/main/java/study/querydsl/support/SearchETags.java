@@ -0,0 +1,35 @@
+package study.querydsl.support;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 검색 API 의 ETag.
+ * DataVersion epoch + 검색 조건/페이지로 만들기 때문에 쿼리를 실행하지 않고도 결과가 바뀌었는지 알 수 있다.
+ * - Member/Team 쓰기(bulk execute() 포함)가 있으면 epoch 가 바뀌어 ETag 도 바뀜
+ * - 검색 조건은 normalize() 한 값을 넘겨야 빈 문자열/null 차이로 ETag 가 달라지지 않음
+ * - 같은 URL 도 Accept 에 따라 JSON/columnar/binary 로 응답이 달라지므로 Accept 헤더도 키에 넣는다.
+ *   (응답에는 Vary: Accept 를 같이 보내야 공유 캐시가 형식을 섞지 않음)
+ */
+@Component
+public class SearchETags {
+
+    private final DataVersion dataVersion;
+
+    public SearchETags(DataVersion dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
+    /**
+     * @param accept 요청의 Accept 헤더 (없으면 null)
+     */
+    public String of(String api, String accept, Object... keys) {
+        StringBuilder source = new StringBuilder(api).append('|').append(dataVersion.current()).append('|').append(accept);
+        for (Object key : keys) {
+            source.append('|').append(key);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,57 @@
+package study.querydsl.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 여러 요청 스레드(생산자) → 로그 스레드 1개(소비자) 로 넘기는 lock-free 링 버퍼.
+ * 가득 차면 기다리지 않고 버린다. (버린 건수는 dropped() 로 확인)
+ */
+class SqlLogRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long head; // 소비자 스레드만 변경
+
+    SqlLogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1); // 2의 제곱수로 올림
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    boolean offer(E element) {
+        long t;
+        do {
+            t = tail.get();
+            if (t - head >= slots.length()) {
+                dropped.increment();
+                return false;
+            }
+        } while (!tail.compareAndSet(t, t + 1));
+        slots.lazySet((int) (t & mask), element);
+        return true;
+    }
+
+    /**
+     * 소비자 스레드에서만 호출한다. 비어 있으면 null
+     * 자리를 차지한 생산자가 아직 값을 쓰기 전이어도 null 을 반환하고, 다음 poll 에서 가져간다.
+     */
+    E poll() {
+        long h = head;
+        int index = (int) (h & mask);
+        E element = slots.get(index);
+        if (element == null) {
+            return null;
+        }
+        slots.lazySet(index, null);
+        head = h + 1;
+        return element;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,98 @@
+package study.querydsl.support;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * DataSource → Connection → Statement 를 JDK 프록시로 감싸서 execute* 실행 시간을 SampledSqlLogger 로 넘긴다.
+ */
+public class SqlLoggingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SampledSqlLogger> sqlLogger;
+
+    public SqlLoggingDataSourcePostProcessor(ObjectProvider<SampledSqlLogger> sqlLogger) {
+        this.sqlLogger = sqlLogger;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !Proxy.isProxyClass(bean.getClass()) && !isDelegating(bean)) {
+            return wrap(DataSource.class, bean, null, sqlLogger.getObject());
+        }
+        return bean;
+    }
+
+    // 라우팅/지연 프록시는 결국 실제 풀의 커넥션을 쓰므로 풀만 감싼다. (같은 SQL 이 두 번 잡히지 않도록)
+    private static boolean isDelegating(Object dataSource) {
+        return dataSource instanceof DelegatingDataSource || dataSource instanceof AbstractRoutingDataSource;
+    }
+
+    private static Object wrap(Class<?> type, Object target, String sql, SampledSqlLogger sqlLogger) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new Handler(target, sql, sqlLogger));
+    }
+
+    private static final class Handler implements InvocationHandler {
+
+        private final Object target;
+        private final String sql; // PreparedStatement 의 SQL, 일반 Statement 는 null
+        private final SampledSqlLogger sqlLogger;
+
+        private Handler(Object target, String sql, SampledSqlLogger sqlLogger) {
+            this.target = target;
+            this.sql = sql;
+            this.sqlLogger = sqlLogger;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            if (target instanceof Statement && name.startsWith("execute")) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+                long start = System.nanoTime();
+                try {
+                    return invokeTarget(method, args);
+                } finally {
+                    sqlLogger.onExecute(executed, System.nanoTime() - start);
+                }
+            }
+
+            Object result = invokeTarget(method, args);
+            if (target instanceof DataSource && name.equals("getConnection")) {
+                return wrap(Connection.class, result, null, sqlLogger);
+            }
+            if (target instanceof Connection && Statement.class.isAssignableFrom(method.getReturnType())) {
+                String prepared = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return wrap(method.getReturnType(), result, prepared, sqlLogger);
+            }
+            return result;
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package study.querydsl.support;
+
+/**
+ * 현재 스레드에서 실행된 SQL 수. (SqlStatementInspector 가 집계)
+ * 리포지토리 메트릭, 테스트의 SQL 수 검증에서 사용한다.
+ */
+public final class SqlStatementCounter {
+
+    public enum Type {
+        SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+        public boolean isWrite() {
+            return this == INSERT || this == UPDATE || this == DELETE;
+        }
+
+        static Type of(String sql) {
+            int start = skipCommentsAndWhitespace(sql);
+            if (startsWithKeyword(sql, start, "select") || startsWithKeyword(sql, start, "with")) {
+                return SELECT;
+            }
+            if (startsWithKeyword(sql, start, "insert")) {
+                return INSERT;
+            }
+            if (startsWithKeyword(sql, start, "update") || startsWithKeyword(sql, start, "merge")) {
+                return UPDATE;
+            }
+            if (startsWithKeyword(sql, start, "delete")) {
+                return DELETE;
+            }
+            return OTHER;
+        }
+
+        // use_sql_comments: true 이면 SQL 앞에 /* ... */ 주석이 붙음
+        private static int skipCommentsAndWhitespace(String sql) {
+            int i = 0;
+            while (i < sql.length()) {
+                if (Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                } else if (sql.startsWith("/*", i)) {
+                    int end = sql.indexOf("*/", i + 2);
+                    if (end < 0) {
+                        return sql.length();
+                    }
+                    i = end + 2;
+                } else {
+                    break;
+                }
+            }
+            return i;
+        }
+
+        private static boolean startsWithKeyword(String sql, int start, String keyword) {
+            return sql.regionMatches(true, start, keyword, 0, keyword.length());
+        }
+    }
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[Type.values().length]);
+
+    private SqlStatementCounter() {
+    }
+
+    static void increment(Type type) {
+        COUNTS.get()[type.ordinal()]++;
+    }
+
+    public static long get(Type type) {
+        return COUNTS.get()[type.ordinal()];
+    }
+
+    public static long total() {
+        long total = 0;
+        for (long count : COUNTS.get()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public static void reset() {
+        COUNTS.remove();
+    }
+}
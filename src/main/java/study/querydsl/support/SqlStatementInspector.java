@@ -0,0 +1,27 @@
+package study.querydsl.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 하이버네이트가 실행하는 모든 SQL 을 본다.
+ * - 쓰기 SQL 이면 DataVersion 을 올림
+ * - 현재 스레드의 SQL 실행 수를 SqlStatementCounter 에 집계
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private final DataVersion dataVersion;
+
+    public SqlStatementInspector(DataVersion dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.Type type = SqlStatementCounter.Type.of(sql);
+        SqlStatementCounter.increment(type);
+        if (type.isWrite()) {
+            dataVersion.bumpOnWrite();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,166 @@
+package study.querydsl.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 한 트랜잭션(또는 bulk chunk)에서 생긴 team_stats 변경분을 팀별로 모아 두었다가 한 번에 반영한다.
+ * - 회원 추가는 count/sum 증가 + min/max 를 least/greatest 로 갱신 (member 를 다시 읽지 않음)
+ * - 회원 제거는 count/sum 감소 후, 제거된 나이가 현재 min/max 경계에 걸린 팀만 min/max 를 다시 계산
+ *   (idx_member_team_age 로 팀별 min/max 는 인덱스 한쪽 끝만 읽음)
+ * - 알 수 없는 변경(이전 상태 없음, 새 팀)은 그 팀만 전체 재계산
+ * 커밋 직전(flush 이후)에 실행되므로 같은 트랜잭션의 member 변경이 모두 반영된 상태에서 계산된다.
+ * 데드락을 피하려고 항상 team_id 순서로 갱신한다.
+ */
+@Slf4j
+public class TeamStatsDelta implements BeforeTransactionCompletionProcess {
+
+    private static final String INCREMENT = "update team_stats"
+            + " set member_count = member_count + ?, age_sum = age_sum + ?"
+            + " where team_id = ?";
+
+    private static final String INCREMENT_WITH_RANGE = "update team_stats"
+            + " set member_count = member_count + ?, age_sum = age_sum + ?,"
+            + " min_age = case when min_age is null or min_age > ? then ? else min_age end,"
+            + " max_age = case when max_age is null or max_age < ? then ? else max_age end"
+            + " where team_id = ?";
+
+    // 제거된 나이 범위가 현재 min/max 에 닿을 때만 다시 계산
+    private static final String RECOMPUTE_RANGE = "update team_stats"
+            + " set min_age = (select min(m.age) from member m where m.team_id = ?),"
+            + " max_age = (select max(m.age) from member m where m.team_id = ?)"
+            + " where team_id = ? and (min_age >= ? or max_age <= ?)";
+
+    // row 가 없으면 만들고 있으면 덮어씀 (update 후 insert 로 나누면 동시에 같은 팀을 만들 때 PK 충돌)
+    private static final String RECOMPUTE = "merge into team_stats (team_id, member_count, age_sum, min_age, max_age)"
+            + " key (team_id)"
+            + " select ?, count(*), coalesce(sum(m.age), 0), min(m.age), max(m.age) from member m where m.team_id = ?";
+
+    private static final String DELETE = "delete from team_stats where team_id = ?";
+
+    private final Map<Long, Change> changes = new TreeMap<>();
+
+    public void added(Long teamId, int age) {
+        added(teamId, 1, age, age, age);
+    }
+
+    public void added(Long teamId, long count, long ageSum, int minAge, int maxAge) {
+        Change change = change(teamId);
+        change.count += count;
+        change.ageSum += ageSum;
+        change.addedMin = change.addedMin == null ? minAge : Math.min(change.addedMin, minAge);
+        change.addedMax = change.addedMax == null ? maxAge : Math.max(change.addedMax, maxAge);
+    }
+
+    public void removed(Long teamId, int age) {
+        removed(teamId, 1, age, age, age);
+    }
+
+    public void removed(Long teamId, long count, long ageSum, int minAge, int maxAge) {
+        Change change = change(teamId);
+        change.count -= count;
+        change.ageSum -= ageSum;
+        change.removedMin = change.removedMin == null ? minAge : Math.min(change.removedMin, minAge);
+        change.removedMax = change.removedMax == null ? maxAge : Math.max(change.removedMax, maxAge);
+    }
+
+    public void recompute(Long teamId) {
+        change(teamId).recompute = true;
+    }
+
+    // 팀 삭제
+    public void dropped(Long teamId) {
+        change(teamId).dropped = true;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    @Override
+    public void doBeforeTransactionCompletion(SessionImplementor session) {
+        if (!isEmpty()) {
+            session.doWork(this::apply);
+        }
+    }
+
+    /**
+     * 모아 둔 변경분을 team_stats 에 반영하고 비운다. (connection 의 트랜잭션 안에서 실행)
+     * 통계 반영이 실패해도 회원 쓰기(업무 트랜잭션)는 커밋되어야 하므로 savepoint 까지만 되돌리고 넘어간다.
+     * 빠진 변경분은 TeamStatsReconciler 의 재집계에서 맞춰진다.
+     */
+    public void apply(Connection connection) throws SQLException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Savepoint savepoint = connection.setSavepoint();
+        try {
+            applyChanges(connection);
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback(savepoint);
+            log.warn("team_stats 반영 실패 (다음 재집계에서 맞춰짐): teams={}", changes.keySet(), e);
+        } finally {
+            changes.clear();
+        }
+    }
+
+    private void applyChanges(Connection connection) throws SQLException {
+        for (Map.Entry<Long, Change> entry : changes.entrySet()) {
+            Long teamId = entry.getKey();
+            Change change = entry.getValue();
+            if (change.dropped) {
+                update(connection, DELETE, teamId);
+            } else if (change.recompute || !increment(connection, teamId, change)) {
+                // row 가 아직 없으면(배포 이전 팀 등) 재계산해서 만든다
+                recompute(connection, teamId);
+            } else if (change.removedMin != null) {
+                update(connection, RECOMPUTE_RANGE, teamId, teamId, teamId, change.removedMin, change.removedMax);
+            }
+        }
+    }
+
+    private static boolean increment(Connection connection, Long teamId, Change change) throws SQLException {
+        if (change.addedMin == null) {
+            return update(connection, INCREMENT, change.count, change.ageSum, teamId) > 0;
+        }
+        return update(connection, INCREMENT_WITH_RANGE, change.count, change.ageSum,
+                change.addedMin, change.addedMin, change.addedMax, change.addedMax, teamId) > 0;
+    }
+
+    private static void recompute(Connection connection, Long teamId) throws SQLException {
+        update(connection, RECOMPUTE, teamId, teamId);
+    }
+
+    private static int update(Connection connection, String sql, Object... params) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+    private Change change(Long teamId) {
+        return changes.computeIfAbsent(teamId, id -> new Change());
+    }
+
+    private static class Change {
+        long count;
+        long ageSum;
+        Integer addedMin;
+        Integer addedMax;
+        Integer removedMin;
+        Integer removedMax;
+        boolean recompute;
+        boolean dropped;
+    }
+}
@@ -0,0 +1,170 @@
+package study.querydsl.support;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.Objects;
+
+/**
+ * Member/Team 의 insert/update/delete 이벤트를 받아서 team_stats 변경분(TeamStatsDelta)을 쌓는다.
+ * - 트랜잭션마다 TeamStatsDelta 하나를 두고, 커밋 직전에 한 번만 반영 (롤백되면 버려짐)
+ * - update 는 이전 상태(oldState)와 비교해서 팀 이동 / 나이 변경만 반영
+ * Querydsl bulk update/delete 는 이벤트가 발생하지 않으므로 MemberBulkRepository 에서 따로 반영한다.
+ */
+@Component
+public class TeamStatsEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public TeamStatsEventListener(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            Long teamId = teamIdOf(event.getPersister(), event.getState());
+            if (teamId != null) {
+                delta(event.getSession()).added(teamId, ageOf(event.getPersister(), event.getState()));
+            }
+        } else if (event.getEntity() instanceof Team) {
+            delta(event.getSession()).recompute((Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member)) {
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        Long teamId = teamIdOf(persister, event.getState());
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            // 스냅샷 없이 update 된 경우 (이전 팀을 알 수 없음 → 현재 팀만 재계산, 나머지는 재집계 작업에서 맞춰짐)
+            if (teamId != null) {
+                delta(event.getSession()).recompute(teamId);
+            }
+            return;
+        }
+
+        Long oldTeamId = teamIdOf(persister, oldState);
+        int age = ageOf(persister, event.getState());
+        int oldAge = ageOf(persister, oldState);
+        if (Objects.equals(teamId, oldTeamId) && age == oldAge) {
+            return;
+        }
+        TeamStatsDelta delta = delta(event.getSession());
+        if (oldTeamId != null) {
+            delta.removed(oldTeamId, oldAge);
+        }
+        if (teamId != null) {
+            delta.added(teamId, age);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            Long teamId = teamIdOf(event.getPersister(), event.getDeletedState());
+            if (teamId != null) {
+                delta(event.getSession()).removed(teamId, ageOf(event.getPersister(), event.getDeletedState()));
+            }
+        } else if (event.getEntity() instanceof Team) {
+            delta(event.getSession()).dropped((Long) event.getId());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * 현재 트랜잭션의 TeamStatsDelta. 처음 요청될 때 만들어서 세션의 커밋 직전 작업으로 등록한다.
+     */
+    private TeamStatsDelta delta(EventSource session) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 스프링 트랜잭션 밖 (하이버네이트 트랜잭션을 직접 쓰는 경우) → 이벤트마다 따로 반영
+            TeamStatsDelta delta = new TeamStatsDelta();
+            session.getActionQueue().registerProcess(delta);
+            return delta;
+        }
+        TeamStatsDelta delta = (TeamStatsDelta) TransactionSynchronizationManager.getResource(this);
+        if (delta == null) {
+            delta = new TeamStatsDelta();
+            session.getActionQueue().registerProcess(delta);
+            UnbindAfterCompletion synchronization = new UnbindAfterCompletion(delta);
+            TransactionSynchronizationManager.bindResource(this, delta);
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+        }
+        return delta;
+    }
+
+    private static Long teamIdOf(EntityPersister persister, Object[] state) {
+        Object team = state[persister.getEntityMetamodel().getPropertyIndex("team")];
+        if (team == null) {
+            return null;
+        }
+        // 프록시를 초기화하지 않고 id 만 꺼냄
+        if (team instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) team).getHibernateLazyInitializer().getIdentifier();
+        }
+        return ((Team) team).getId();
+    }
+
+    private static int ageOf(EntityPersister persister, Object[] state) {
+        return (Integer) state[persister.getEntityMetamodel().getPropertyIndex("age")];
+    }
+
+    private class UnbindAfterCompletion implements TransactionSynchronization {
+
+        private final TeamStatsDelta delta;
+
+        UnbindAfterCompletion(TeamStatsDelta delta) {
+            this.delta = delta;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(TeamStatsEventListener.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TeamStatsEventListener.this, delta);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TeamStatsEventListener.this);
+        }
+    }
+}
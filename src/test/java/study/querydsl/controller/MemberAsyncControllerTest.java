@@ -0,0 +1,81 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.querydsl.support.CommittedTeamFixture;
+
+import javax.persistence.EntityManager;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 비동기 검색은 다른 스레드(트랜잭션)에서 실행되므로 데이터는 직접 커밋하고 끝나면 지운다. (CommittedTeamFixture)
+ * 병렬 count 를 켜서 작업 스레드에서 count 가 순차 실행되는 경로도 같이 확인.
+ */
+@SpringBootTest(properties = "member.search.parallel-count.enabled=true")
+@AutoConfigureMockMvc
+class MemberAsyncControllerTest {
+
+    private static final String TEAM_NAME = "asyncTeam";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    CommittedTeamFixture fixture;
+
+    @BeforeEach
+    public void before() {
+        fixture = new CommittedTeamFixture(em, transactionManager, TEAM_NAME);
+        fixture.create(3);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        fixture.delete();
+    }
+
+    @Test
+    public void searchV1Async() throws Exception {
+        MvcResult result = mockMvc.perform(get("/v1/members/async").param("teamName", TEAM_NAME)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    public void searchV2Async() throws Exception {
+        // 첫 페이지가 가득 차서 count 가 필요한 경우
+        MvcResult result = mockMvc.perform(get("/v2/members/async").param("teamName", TEAM_NAME)
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+}
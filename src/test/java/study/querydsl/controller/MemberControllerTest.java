@@ -0,0 +1,148 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static study.querydsl.support.MemberBinaryHttpMessageConverter.MEMBER_BINARY;
+import static study.querydsl.support.MemberColumnarJsonHttpMessageConverter.COLUMNAR_JSON;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManager em;
+
+    Team teamA;
+
+    @BeforeEach
+    public void before() {
+        teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+    }
+
+    @Test
+    public void notModifiedUntilWrite() throws Exception {
+        String eTag = mockMvc.perform(get("/v2/members").param("teamName", "teamA")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 데이터가 그대로면 쿼리 없이 304
+        mockMvc.perform(get("/v2/members").param("teamName", "teamA")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        // 쓰기가 있으면 ETag 가 바뀌어 새 결과를 받음
+        em.persist(new Member("member3", 30, teamA));
+        em.flush();
+
+        String newETag = mockMvc.perform(get("/v2/members").param("teamName", "teamA")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isNotEqualTo(eTag);
+    }
+
+    @Test
+    public void eTagPerRepresentation() throws Exception {
+        String jsonETag = mockMvc.perform(get("/v2/members").param("teamName", "teamA")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // JSON 의 ETag 로 binary 를 요청하면 304 가 아니라 binary 본문을 받아야 함
+        String binaryETag = mockMvc.perform(get("/v2/members").param("teamName", "teamA")
+                        .accept(MEMBER_BINARY)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MEMBER_BINARY.toString()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(binaryETag).isNotEqualTo(jsonETag);
+
+        // 304 에도 Vary 가 있어야 공유 캐시가 형식별로 저장함
+        mockMvc.perform(get("/v2/members").param("teamName", "teamA")
+                        .accept(MEMBER_BINARY)
+                        .header(HttpHeaders.IF_NONE_MATCH, binaryETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    public void columnarJson() throws Exception {
+        mockMvc.perform(get("/v2/members").param("teamName", "teamA")
+                        .accept(COLUMNAR_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(COLUMNAR_JSON))
+                .andExpect(jsonPath("$.page.totalElements").value(2))
+                .andExpect(jsonPath("$.username[0]").value("member1"))
+                .andExpect(jsonPath("$.username[1]").value("member2"))
+                .andExpect(jsonPath("$.age[1]").value(20))
+                .andExpect(jsonPath("$.team[0]").value(0))
+                .andExpect(jsonPath("$.teams.teamName[0]").value("teamA"));
+    }
+
+    @Test
+    public void defaultJson() throws Exception {
+        // Accept 가 없거나 */* 이면 기존 JSON 그대로
+        for (String accept : new String[]{null, MediaType.ALL_VALUE}) {
+            MockHttpServletRequestBuilder request = get("/v2/members").param("teamName", "teamA");
+            if (accept != null) {
+                request.accept(accept);
+            }
+            mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.content.length()").value(2))
+                    .andExpect(jsonPath("$.totalElements").value(2));
+        }
+    }
+
+    @Test
+    public void importMembers() throws Exception {
+        String csv = "username,age,teamName\nimported1,10,teamA\nimported2,x,teamA\nimported3,30,importedTeam\n";
+        mockMvc.perform(post("/members/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(1));
+
+        assertThat(em.createQuery("select m.team.name from Member m where m.username like 'imported%' order by m.username", String.class)
+                .getResultList()).containsExactly("teamA", "importedTeam");
+    }
+}
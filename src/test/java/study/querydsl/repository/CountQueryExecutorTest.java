@@ -0,0 +1,99 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.service.MemberSearchExecutor;
+import study.querydsl.support.CommittedTeamFixture;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 병렬 count 는 읽기 전용 요청에서만 동작하므로, 데이터는 직접 커밋하고 끝나면 지운다. (CommittedTeamFixture)
+ * (결과 캐시는 꺼서 매번 count 를 실행하도록 함)
+ */
+@SpringBootTest(properties = {
+        "member.search.parallel-count.enabled=true",
+        "member.search.result-cache.enabled=false"
+})
+class CountQueryExecutorTest {
+
+    private static final String TEAM_NAME = "parallelCountTeam";
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    CountQueryExecutor countQueryExecutor;
+
+    @Autowired
+    MemberSearchExecutor memberSearchExecutor;
+
+    CommittedTeamFixture fixture;
+
+    @BeforeEach
+    public void before() {
+        fixture = new CommittedTeamFixture(em, transactionManager, TEAM_NAME);
+        fixture.create(5);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        fixture.delete();
+    }
+
+    @Test
+    public void parallelCount() {
+        MemberSearchCondition condition = condition();
+        Page<MemberTeamDto> page = memberRepository.searchPageComplex(condition, PageRequest.of(0, 2));
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+
+        condition.setAgeGoe(20);
+        Page<MemberTeamDto> filtered = memberRepository.searchPageComplex(condition, PageRequest.of(1, 3));
+        assertThat(filtered.getContent()).hasSize(1);
+        assertThat(filtered.getTotalElements()).isEqualTo(4);
+
+        // content 만으로 전체 건수를 알 수 있어서 count 를 취소하는 경우
+        Page<MemberTeamDto> firstAndLast = memberRepository.searchPageComplex(condition(), PageRequest.of(0, 10));
+        assertThat(firstAndLast.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    public void submitOnlyOutsideWriteTransactions() throws Exception {
+        Future<Long> countFuture = countQueryExecutor.submit(() -> 1L);
+        assertThat(countFuture).isNotNull();
+        assertThat(countQueryExecutor.await(countFuture)).isEqualTo(1L);
+
+        // 쓰기 트랜잭션 안에서는 순차 실행
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                assertThat(countQueryExecutor.submit(() -> 1L)).isNull());
+        // 비동기 검색 스레드에서는 count 용 스레드를 또 잡지 않음
+        assertThat(CountQueryExecutor.callerRuns(() -> countQueryExecutor.submit(() -> 1L))).isNull();
+        assertThat(memberSearchExecutor.submit(() -> countQueryExecutor.submit(() -> 1L)).join()).isNull();
+        assertThat(countQueryExecutor.submit(() -> 1L)).isNotNull();
+    }
+
+    private static MemberSearchCondition condition() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName(TEAM_NAME);
+        return condition;
+    }
+}
@@ -0,0 +1,124 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberBulkProgress;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "member.bulk.chunk-size=2")
+@Transactional
+class MemberBulkRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+
+    Member member1;
+    Member member2;
+    Member member3;
+    Member member4;
+
+    private void init() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        member1 = new Member("member1", 10, teamA);
+        member2 = new Member("member2", 20, teamA);
+        member3 = new Member("member3", 30, teamB);
+        member4 = new Member("member4", 40, teamB);
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.persist(member4);
+    }
+
+    @Test
+    public void bulkAgePlusTest() {
+        init();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+        List<MemberBulkProgress> progress = new ArrayList<>();
+        long count = memberBulkRepository.bulkAgePlus(condition, 1, progress::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(progress).isNotEmpty();
+        assertThat(progress.get(progress.size() - 1).getTotalAffected()).isEqualTo(2);
+
+        // 영속성 컨텍스트가 비워졌으므로 DB 값을 다시 읽음
+        assertThat(em.contains(member3)).isFalse();
+        assertThat(em.find(Member.class, member1.getId()).getAge()).isEqualTo(10);
+        assertThat(em.find(Member.class, member3.getId()).getAge()).isEqualTo(31);
+        assertThat(em.find(Member.class, member4.getId()).getAge()).isEqualTo(41);
+    }
+
+    @Test
+    public void bulkDeleteTest() {
+        init();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeLoe(20);
+        List<MemberBulkProgress> progress = new ArrayList<>();
+        long count = memberBulkRepository.bulkDelete(condition, progress::add);
+
+        // member1 ~ member2 만 대상이므로 chunk(2) 하나
+        assertThat(count).isEqualTo(2);
+        assertThat(progress).hasSize(1);
+        assertThat(em.find(Member.class, member1.getId())).isNull();
+        assertThat(em.find(Member.class, member2.getId())).isNull();
+        assertThat(em.find(Member.class, member3.getId())).isNotNull();
+    }
+
+    @Test
+    public void sparseTargetsTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        Member first = new Member("first", 100, teamA);
+        em.persist(first);
+        for (int i = 0; i < 10; i++) {
+            em.persist(new Member("other" + i, 10, teamA));
+        }
+        Member last = new Member("last", 100, teamA);
+        em.persist(last);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(100);
+        List<MemberBulkProgress> progress = new ArrayList<>();
+        long count = memberBulkRepository.bulkAgePlus(condition, 1, progress::add);
+
+        // 대상 2건이 멀리 떨어져 있어도 id 범위를 훑지 않고 대상만 찾아서 chunk(2) 하나로 처리
+        assertThat(count).isEqualTo(2);
+        assertThat(progress).hasSize(1);
+        assertThat(progress.get(0).getFromId()).isEqualTo(first.getId());
+        assertThat(progress.get(0).getToId()).isEqualTo(last.getId());
+        assertThat(em.find(Member.class, first.getId()).getAge()).isEqualTo(101);
+        assertThat(em.find(Member.class, last.getId()).getAge()).isEqualTo(101);
+    }
+
+    @Test
+    public void chunkBoundaryTest() {
+        init();
+
+        // 대상 4건, chunk(2) → 정확히 두 번, 빈 chunk 없음
+        List<MemberBulkProgress> progress = new ArrayList<>();
+        long count = memberBulkRepository.bulkAgePlus(new MemberSearchCondition(), 1, progress::add);
+
+        assertThat(count).isEqualTo(4);
+        assertThat(progress).extracting(MemberBulkProgress::getAffected).containsExactly(2L, 2L);
+        assertThat(progress.get(1).getToId()).isEqualTo(progress.get(1).getLastId());
+    }
+}
@@ -0,0 +1,114 @@
+package study.querydsl.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.support.CommittedTeamFixture;
+import study.querydsl.support.DataVersion;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커밋 전 쓰기가 있는 트랜잭션에서는 캐시하지 않으므로, 데이터는 직접 커밋하고 끝나면 지운다. (CommittedTeamFixture)
+ * (결과 캐시는 꺼서 count 캐시만 확인)
+ */
+@SpringBootTest(properties = "member.search.result-cache.enabled=false")
+class MemberCountCacheTest {
+
+    private static final String TEAM_NAME = "countCacheTeam";
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    CommittedTeamFixture fixture;
+
+    @BeforeEach
+    public void before() {
+        fixture = new CommittedTeamFixture(em, transactionManager, TEAM_NAME);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        fixture.delete();
+    }
+
+    @Test
+    public void invalidateAfterWrite() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long teamId = fixture.create(5).getId();
+
+        assertThat(total()).isEqualTo(5);
+        double hits = hits();
+        assertThat(total()).isEqualTo(5);
+        assertThat(hits()).isEqualTo(hits + 1);
+
+        // 엔티티 저장
+        tx.executeWithoutResult(status -> em.persist(new Member("member6", 60, em.find(Team.class, teamId))));
+        assertThat(total()).isEqualTo(6);
+
+        // 영속성 컨텍스트를 거치지 않는 bulk delete
+        MemberSearchCondition oldMembers = condition();
+        oldMembers.setAgeGoe(50);
+        memberBulkRepository.bulkDelete(oldMembers);
+        assertThat(total()).isEqualTo(4);
+    }
+
+    @Test
+    public void skipStaleKey() {
+        DataVersion dataVersion = new DataVersion();
+        MemberCountCache cache = new MemberCountCache(dataVersion, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+        MemberCacheKey key = cache.keyOf(condition());
+        // count 쿼리를 실행하는 동안 쓰기가 있었던 경우
+        assertThat(cache.load(key, () -> {
+            dataVersion.bump();
+            return 5;
+        })).isEqualTo(5);
+
+        assertThat(cache.getIfPresent(key)).isNull();
+    }
+
+    private long total() {
+        // 첫 페이지가 가득 차야 count 쿼리(캐시)를 사용함
+        return memberRepository.searchPageComplex(condition(), PageRequest.of(0, 2)).getTotalElements();
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "memberCountCache")
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
+    private static MemberSearchCondition condition() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName(TEAM_NAME);
+        return condition;
+    }
+}
@@ -8,9 +8,11 @@ import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
+import study.querydsl.support.ExpectedStatements;
 
 import javax.persistence.EntityManager;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,6 +29,7 @@ class MemberJpaRepositoryTest {
     MemberJpaRepository memberJpaRepository;
 
     @Test
+    @ExpectedStatements(select = 4)
     public void basicTest() {
         Member member = new Member("member1", 10);
         memberJpaRepository.save(member);
@@ -48,6 +51,7 @@ class MemberJpaRepositoryTest {
     }
 
     @Test
+    @ExpectedStatements(select = 1)
     public void searchTest() {
         Team teamA = new Team("teamA");
         Team teamB = new Team("teamB");
@@ -80,5 +84,77 @@ class MemberJpaRepositoryTest {
         assertThat(result).extracting("username").containsExactly("member4");
     }
 
+    @Test
+    @ExpectedStatements(select = 1)
+    public void searchStreamTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+
+        List<MemberTeamDto> result = new ArrayList<>();
+        long count = memberJpaRepository.searchStream(condition, result::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(result).extracting("username").containsExactlyInAnyOrder("member3", "member4");
+    }
+
+    @Test
+    @ExpectedStatements(select = 2)
+    public void loadTeamsTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.flush();
+        em.clear();
+
+        // member 조회 1번 + 팀 IN 조회 1번, 이후 getTeam() 은 SQL 없음
+        List<Member> members = memberJpaRepository.findAll();
+        memberJpaRepository.loadTeams(members);
+
+        assertThat(members).extracting(m -> m.getTeam().getName())
+                .containsExactlyInAnyOrder("teamA", "teamA", "teamB", "teamB");
+    }
+
+    @Test
+    @ExpectedStatements(select = 2)
+    public void lazyTeamBatchFetchTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        Team teamC = new Team("teamC");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(teamC);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamB));
+        em.persist(new Member("member3", 30, teamC));
+        em.persist(new Member("member4", 40, teamA));
+        em.persist(new Member("member5", 50, teamB));
+        em.flush();
+        em.clear();
+
+        // loadTeams 없이 프록시를 건마다 초기화해도 default_batch_fetch_size 로 팀 3개를 IN 조회 1번에 가져옴 (N+1 아님)
+        List<String> teamNames = new ArrayList<>();
+        for (Member member : memberJpaRepository.findAll()) {
+            teamNames.add(member.getTeam().getName());
+        }
+
+        assertThat(teamNames).containsExactlyInAnyOrder("teamA", "teamB", "teamC", "teamA", "teamB");
+    }
 
-}
\ No newline at end of file
+}
@@ -6,11 +6,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.CursorPage;
+import study.querydsl.dto.MemberCursor;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
 import study.querydsl.entity.Team;
+import study.querydsl.support.ExpectedStatements;
 
 import javax.persistence.EntityManager;
 import java.util.List;
@@ -29,6 +32,7 @@ class MemberRepositoryTest {
     MemberRepository memberRepository;
 
     @Test
+    @ExpectedStatements(select = 4)
     public void basicTest() {
         Member member = new Member("member1", 10);
         memberRepository.save(member);
@@ -50,6 +54,7 @@ class MemberRepositoryTest {
     }
 
     @Test
+    @ExpectedStatements(select = 2)
     public void searchTest() {
         Team teamA = new Team("teamA");
         Team teamB = new Team("teamB");
@@ -83,6 +88,7 @@ class MemberRepositoryTest {
     }
 
     @Test
+    @ExpectedStatements(select = 2)
     public void searchPageComplexTest() {
         Team teamA = new Team("teamA");
         Team teamB = new Team("teamB");
@@ -109,6 +115,73 @@ class MemberRepositoryTest {
     }
 
     @Test
+    public void searchPageComplexByTeamNameTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+        Page<MemberTeamDto> result = memberRepository.searchPageComplex(condition, PageRequest.of(0, 1));
+
+        // count 쿼리는 team 조인 없이 member.team_id 로 필터링
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting("teamName").containsExactly("teamB");
+
+        // 없는 팀 이름이면 쿼리 없이 빈 결과
+        condition.setTeamName("teamC");
+        assertThat(memberRepository.searchPageComplex(condition, PageRequest.of(0, 1)).getTotalElements()).isZero();
+        assertThat(memberRepository.search(condition)).isEmpty();
+    }
+
+    @Test
+    @ExpectedStatements(select = 4)
+    public void searchAfterTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        Member member1 = new Member("member1", 40, teamA);
+        Member member2 = new Member("member2", 30, teamA);
+
+        Member member3 = new Member("member3", 20, teamB);
+        Member member4 = new Member("member4", 10, teamB);
+
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.persist(member4);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        // (member_id) 기준
+        CursorPage<MemberTeamDto> first = memberRepository.searchAfter(condition, MemberCursor.first(MemberCursor.Order.ID), 3);
+        assertThat(first.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
+        assertThat(first.isHasNext()).isTrue();
+
+        CursorPage<MemberTeamDto> second = memberRepository.searchAfter(condition, MemberCursor.decode(first.getNextCursor()), 3);
+        assertThat(second.getContent()).extracting("username").containsExactly("member4");
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+
+        // (age, member_id) 기준
+        CursorPage<MemberTeamDto> byAge = memberRepository.searchAfter(condition, MemberCursor.first(MemberCursor.Order.AGE), 2);
+        assertThat(byAge.getContent()).extracting("username").containsExactly("member4", "member3");
+
+        CursorPage<MemberTeamDto> byAgeNext = memberRepository.searchAfter(condition, MemberCursor.decode(byAge.getNextCursor()), 2);
+        assertThat(byAgeNext.getContent()).extracting("username").containsExactly("member2", "member1");
+        assertThat(byAgeNext.isHasNext()).isFalse();
+    }
+
+    @Test
+    @ExpectedStatements(select = 1)
     public void querydslPredicateExecutorTest() {
         /**
          * - 한계점
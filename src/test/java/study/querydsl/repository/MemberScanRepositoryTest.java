@@ -0,0 +1,46 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class MemberScanRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberScanRepository memberScanRepository;
+
+    @Test
+    public void scanTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamA));
+        em.persist(new Member("member4", 40, teamA));
+        // StatelessSession 은 영속성 컨텍스트를 보지 않으므로 DB 에 반영해 둠
+        em.flush();
+
+        List<List<Member>> chunks = new ArrayList<>();
+        long count = memberScanRepository.scan(member.age.goe(20), 2, chunks::add);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(chunks).extracting(List::size).containsExactly(2, 1);
+        // 조회한 회원은 영속성 컨텍스트에 올라가지 않음
+        assertThat(chunks.get(0)).noneMatch(em::contains);
+    }
+}
@@ -0,0 +1,202 @@
+package study.querydsl.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.support.CommittedTeamFixture;
+import study.querydsl.support.DataVersion;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 커밋 전 쓰기가 있는 트랜잭션에서는 캐시하지 않으므로, 데이터는 직접 커밋하고 끝나면 지운다. (CommittedTeamFixture)
+ */
+@SpringBootTest
+class MemberSearchCacheTest {
+
+    private static final String TEAM_NAME = "searchCacheTeam";
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+
+    @Autowired
+    MemberSearchCache memberSearchCache;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    CommittedTeamFixture fixture;
+
+    @BeforeEach
+    public void before() {
+        fixture = new CommittedTeamFixture(em, transactionManager, TEAM_NAME);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        fixture.delete();
+    }
+
+    @Test
+    public void hitReturnsCopy() {
+        MemberSearchCache cache = new MemberSearchCache(new DataVersion(), new SimpleMeterRegistry(),
+                true, 100, Duration.ofMinutes(1));
+        MemberSearchCondition condition = condition();
+
+        MemberCacheKey key = cache.keyOf(condition, null);
+        List<MemberTeamDto> results = cache.put(key, List.of(new MemberTeamDto(1L, "member1", 10, 1L, TEAM_NAME)));
+        List<MemberTeamDto> hit = cache.getList(cache.keyOf(condition, null));
+
+        assertThat(hit).isEqualTo(results);
+        assertThatThrownBy(() -> hit.add(new MemberTeamDto(2L, "member2", 20, 1L, TEAM_NAME)))
+                .isInstanceOf(UnsupportedOperationException.class);
+        // 꺼낸 DTO 를 바꿔도 캐시에 들어 있는 값은 그대로
+        hit.get(0).setAge(99);
+        assertThat(cache.getList(key).get(0).getAge()).isEqualTo(10);
+
+        PageRequest pageable = PageRequest.of(0, 10);
+        MemberCacheKey pageKey = cache.keyOf(condition, pageable);
+        cache.put(pageKey, new PageImpl<>(List.of(new MemberTeamDto(1L, "member1", 10, 1L, TEAM_NAME)), pageable, 1));
+        Page<MemberTeamDto> pageHit = cache.getPage(pageKey);
+        pageHit.getContent().get(0).setAge(99);
+        assertThat(cache.getPage(pageKey).getContent().get(0).getAge()).isEqualTo(10);
+        assertThat(cache.getPage(pageKey).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    public void disabled() {
+        MemberSearchCache cache = new MemberSearchCache(new DataVersion(), new SimpleMeterRegistry(),
+                false, 100, Duration.ofMinutes(1));
+
+        assertThat(cache.keyOf(condition(), null)).isNull();
+        // 캐시하지 않아도 반환 목록은 수정할 수 없음
+        List<MemberTeamDto> results = cache.put(null, List.of(new MemberTeamDto(1L, "member1", 10, 1L, TEAM_NAME)));
+        assertThatThrownBy(() -> results.add(new MemberTeamDto(2L, "member2", 20, 1L, TEAM_NAME)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void invalidateAfterWrite() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long member1Id = fixture.create(2).getMembers().get(0).getId();
+
+        assertThat(ages()).containsExactly(10, 20);
+        double hits = hits();
+        assertThat(ages()).containsExactly(10, 20);
+        assertThat(hits()).isEqualTo(hits + 1);
+
+        // 엔티티 변경
+        tx.executeWithoutResult(status -> em.find(Member.class, member1Id).setAge(11));
+        assertThat(ages()).containsExactly(11, 20);
+
+        // 영속성 컨텍스트를 거치지 않는 bulk update
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName(TEAM_NAME);
+        memberBulkRepository.bulkAgePlus(condition, 1);
+        assertThat(ages()).containsExactly(12, 21);
+    }
+
+    @Test
+    public void skipWhenPendingWrites() {
+        fixture.create(0);
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team team = em.createQuery("select t from Team t where t.name = :name", Team.class)
+                    .setParameter("name", TEAM_NAME)
+                    .getSingleResult();
+            em.persist(new Member("pending", 10, team));
+            em.flush();
+
+            // 커밋 전 쓰기를 본 결과는 다른 요청과 공유하면 안 됨
+            assertThat(memberSearchCache.keyOf(condition(), null)).isNull();
+            assertThat(ages()).containsExactly(10);
+            status.setRollbackOnly();
+        });
+
+        assertThat(ages()).isEmpty();
+    }
+
+    @Test
+    public void skipWhenAutoFlushedDuringQuery() {
+        Long teamId = fixture.create(0).getId();
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        MemberCacheKey key = tx.execute(status -> {
+            // flush 전이라 키는 만들어지지만, 조회 직전 auto flush 로 커밋 전 쓰기가 생김
+            em.persist(new Member("pending", 10, em.find(Team.class, teamId)));
+            MemberCacheKey keyBeforeQuery = memberSearchCache.keyOf(condition(), null);
+            assertThat(keyBeforeQuery).isNotNull();
+
+            assertThat(ages()).containsExactly(10);
+            status.setRollbackOnly();
+            return keyBeforeQuery;
+        });
+
+        // 같은 epoch 로 키를 만든 다른 요청이 롤백된 row 를 받으면 안 됨
+        assertThat(memberSearchCache.getList(key)).isNull();
+        assertThat(ages()).isEmpty();
+    }
+
+    @Test
+    public void skipStaleKey() {
+        DataVersion dataVersion = new DataVersion();
+        MemberSearchCache cache = new MemberSearchCache(dataVersion, new SimpleMeterRegistry(),
+                true, 100, Duration.ofMinutes(1));
+
+        MemberCacheKey key = cache.keyOf(condition(), null);
+        // 조회하는 동안 다른 트랜잭션의 쓰기가 있었던 경우
+        dataVersion.bump();
+        List<MemberTeamDto> results = cache.put(key, List.of(new MemberTeamDto(1L, "member1", 10, 1L, TEAM_NAME)));
+
+        assertThat(results).hasSize(1);
+        assertThat(cache.getList(key)).isNull();
+    }
+
+    private List<Integer> ages() {
+        List<MemberTeamDto> results = memberRepository.search(condition());
+        return results.stream().map(MemberTeamDto::getAge).sorted().collect(Collectors.toList());
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "memberSearchCache")
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
+    private static MemberSearchCondition condition() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName(TEAM_NAME);
+        return condition;
+    }
+}
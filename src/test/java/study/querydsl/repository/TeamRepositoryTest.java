@@ -0,0 +1,89 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Team;
+import study.querydsl.support.CommittedTeamFixture;
+import study.querydsl.support.ExpectedStatements;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 쿼리 캐시는 커밋된 데이터만 캐시하므로(같은 트랜잭션에서 team 을 바꾸면 캐시를 쓰지 않음) 데이터는 직접 커밋하고 끝나면 지운다.
+ */
+@SpringBootTest
+class TeamRepositoryTest {
+
+    private static final String TEAM_NAME = "queryCacheTeam";
+    private static final String RENAMED = "queryCacheTeamRenamed";
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    CommittedTeamFixture fixture;
+    CommittedTeamFixture renamedFixture;
+    Team team;
+
+    @BeforeEach
+    public void before() {
+        fixture = new CommittedTeamFixture(em, transactionManager, TEAM_NAME);
+        renamedFixture = new CommittedTeamFixture(em, transactionManager, RENAMED);
+        team = fixture.create(0);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        fixture.delete();
+        renamedFixture.delete();
+    }
+
+    @Test
+    @ExpectedStatements(select = 2)
+    public void queryCacheHit() {
+        // 메서드마다 처음 한 번만 SQL, 두 번째는 쿼리 캐시(id) + 2차 캐시(엔티티)
+        assertThat(teamRepository.findTeamIdsByName(TEAM_NAME)).containsExactly(team.getId());
+        assertThat(teamRepository.findTeamIdsByName(TEAM_NAME)).containsExactly(team.getId());
+
+        assertThat(teamRepository.findTeamByName(TEAM_NAME)).extracting(Team::getId).containsExactly(team.getId());
+        assertThat(teamRepository.findTeamByName(TEAM_NAME)).extracting(Team::getId).containsExactly(team.getId());
+    }
+
+    @Test
+    public void invalidateAfterInsert() {
+        assertThat(teamRepository.findTeamIdsByName(TEAM_NAME)).containsExactly(team.getId());
+        assertThat(teamRepository.findTeamByName(TEAM_NAME)).hasSize(1);
+
+        // 같은 이름의 팀이 추가되면 team 테이블의 캐시된 쿼리 결과는 더 이상 사용하지 않음
+        Team another = fixture.create(0);
+
+        assertThat(teamRepository.findTeamIdsByName(TEAM_NAME)).containsExactlyInAnyOrder(team.getId(), another.getId());
+        assertThat(teamRepository.findTeamByName(TEAM_NAME)).extracting(Team::getId)
+                .containsExactlyInAnyOrder(team.getId(), another.getId());
+    }
+
+    @Test
+    public void invalidateAfterRename() {
+        assertThat(teamRepository.findTeamIdsByName(TEAM_NAME)).containsExactly(team.getId());
+        assertThat(teamRepository.findTeamIdsByName(RENAMED)).isEmpty();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.find(Team.class, team.getId()).setName(RENAMED));
+
+        assertThat(teamRepository.findTeamIdsByName(TEAM_NAME)).isEmpty();
+        assertThat(teamRepository.findTeamIdsByName(RENAMED)).containsExactly(team.getId());
+        assertThat(teamRepository.findTeamByName(RENAMED)).extracting(Team::getName).containsExactly(RENAMED);
+    }
+}
@@ -0,0 +1,159 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * team_stats 는 커밋 직전에 반영되므로 @Transactional(롤백) 대신 직접 커밋하고, 끝나면 지운다.
+ */
+@SpringBootTest
+class TeamStatsRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    TeamStatsRepository teamStatsRepository;
+
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+
+    Long teamAId;
+    Long teamBId;
+
+    @AfterEach
+    public void cleanup() {
+        if (teamAId == null) {
+            return;
+        }
+        List<Long> teamIds = List.of(teamAId, teamBId);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id in :teamIds")
+                    .setParameter("teamIds", teamIds)
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.id in :teamIds")
+                    .setParameter("teamIds", teamIds)
+                    .executeUpdate();
+            em.createNativeQuery("delete from team_stats where team_id in (:teamIds)")
+                    .setParameter("teamIds", teamIds)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    public void incrementalTest() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long member1Id = tx.execute(status -> {
+            Team teamA = new Team("statsTeamA");
+            Team teamB = new Team("statsTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            Member member1 = new Member("member1", 10, teamA);
+            em.persist(member1);
+            em.persist(new Member("member2", 20, teamA));
+            em.persist(new Member("member3", 30, teamB));
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+            return member1.getId();
+        });
+
+        assertStats(teamAId, 2, 30, 10, 20);
+        assertStats(teamBId, 1, 30, 30, 30);
+
+        // 팀 이동 + 나이 변경, 삭제
+        tx.executeWithoutResult(status -> {
+            Member member2 = em.createQuery("select m from Member m where m.username = 'member2' and m.team.id = :teamId", Member.class)
+                    .setParameter("teamId", teamAId)
+                    .getSingleResult();
+            member2.setTeam(em.find(Team.class, teamBId));
+            member2.setAge(40);
+            em.remove(em.find(Member.class, member1Id));
+        });
+
+        assertStats(teamAId, 0, 0, null, null);
+        assertStats(teamBId, 2, 70, 30, 40);
+    }
+
+    @Test
+    public void missingRowTest() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team teamA = new Team("statsTeamA");
+            Team teamB = new Team("statsTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            em.persist(new Member("member1", 10, teamA));
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+        });
+        // 배포 이전에 만들어진 팀처럼 team_stats row 가 없는 경우
+        tx.executeWithoutResult(status -> em.createNativeQuery("delete from team_stats where team_id = ?")
+                .setParameter(1, teamAId)
+                .executeUpdate());
+
+        // 증가분을 반영할 row 가 없으면 전체 재계산으로 만든다 (merge)
+        tx.executeWithoutResult(status -> em.persist(new Member("member2", 20, em.find(Team.class, teamAId))));
+        assertStats(teamAId, 2, 30, 10, 20);
+    }
+
+    @Test
+    public void bulkAndRebuildTest() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Team teamA = new Team("statsTeamA");
+            Team teamB = new Team("statsTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            em.persist(new Member("member1", 10, teamA));
+            em.persist(new Member("member3", 30, teamB));
+            em.persist(new Member("member4", 40, teamB));
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+        });
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("statsTeamB");
+        memberBulkRepository.bulkAgePlus(condition, 1);
+        assertStats(teamBId, 2, 72, 31, 41);
+
+        memberBulkRepository.bulkDelete(condition);
+        assertStats(teamBId, 0, 0, null, null);
+
+        // 전체 재집계 결과가 변경분 반영 결과와 같아야 함
+        TeamStatsDto beforeA = stats(teamAId);
+        TeamStatsDto beforeB = stats(teamBId);
+        teamStatsRepository.rebuild();
+        assertThat(stats(teamAId)).isEqualTo(beforeA);
+        assertThat(stats(teamBId)).isEqualTo(beforeB);
+    }
+
+    private void assertStats(Long teamId, long memberCount, long ageSum, Integer minAge, Integer maxAge) {
+        TeamStatsDto stats = stats(teamId);
+        assertThat(stats.getMemberCount()).isEqualTo(memberCount);
+        assertThat(stats.getAgeSum()).isEqualTo(ageSum);
+        assertThat(stats.getMinAge()).isEqualTo(minAge);
+        assertThat(stats.getMaxAge()).isEqualTo(maxAge);
+    }
+
+    private TeamStatsDto stats(Long teamId) {
+        return teamStatsRepository.findAll().stream()
+                .filter(stats -> stats.getTeamId().equals(teamId))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,143 @@
+package study.querydsl.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberImportResult;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// chunk(2) 경계를 확인하기 위해 batch_size(= chunk 크기)를 작게
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.jdbc.batch_size=2")
+@Transactional
+class MemberImportServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    MemberImportService memberImportService;
+
+    @Test
+    public void header() throws IOException {
+        MemberImportResult withHeader = importCsv("username,age,teamName\nmember1,10,importTeamA\n");
+        assertThat(withHeader.getImported()).isEqualTo(1);
+        assertThat(withHeader.getRejected()).isEqualTo(0);
+
+        // 대소문자/공백이 달라도 헤더로 봄
+        MemberImportResult upperCase = importCsv(" USERNAME,AGE,TEAMNAME \nmember2,20,importTeamA\n");
+        assertThat(upperCase.getImported()).isEqualTo(1);
+        assertThat(upperCase.getRejected()).isEqualTo(0);
+
+        // 헤더가 없으면 첫 줄부터 데이터
+        MemberImportResult noHeader = importCsv("member3,30,importTeamA\n");
+        assertThat(noHeader.getImported()).isEqualTo(1);
+
+        // 첫 줄이 아니면 헤더도 형식 오류
+        MemberImportResult lateHeader = importCsv("member4,40,importTeamA\nusername,age,teamName\n");
+        assertThat(lateHeader.getImported()).isEqualTo(1);
+        assertThat(lateHeader.getRejected()).isEqualTo(1);
+
+        assertThat(membersOf("importTeamA")).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2", "member3", "member4");
+    }
+
+    @Test
+    public void rejectedRows() throws IOException {
+        MemberImportResult result = importCsv("username,age,teamName\n"
+                + "member1,10,importTeamA\n"
+                + "member2,abc,importTeamA\n"     // 나이가 숫자가 아님
+                + "member3,-1,importTeamA\n"      // 음수 나이
+                + ",30,importTeamA\n"             // username 없음
+                + "member5,50\n"                  // 컬럼 부족
+                + "member6,60,importTeamA,extra\n" // 컬럼 초과
+                + "\n"                            // 빈 줄은 건너뜀 (rejected 아님)
+                + "member7,70,importTeamA\n");
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(5);
+        assertThat(membersOf("importTeamA")).extracting("username").containsExactlyInAnyOrder("member1", "member7");
+    }
+
+    @Test
+    public void chunkBoundaries() throws IOException {
+        // chunk 크기(2)의 배수, 배수 + 1, chunk 보다 작은 입력
+        assertThat(importCsv(rows("even", 4)).getImported()).isEqualTo(4);
+        assertThat(importCsv(rows("odd", 5)).getImported()).isEqualTo(5);
+        assertThat(importCsv(rows("one", 1)).getImported()).isEqualTo(1);
+
+        assertThat(membersOf("even")).hasSize(4);
+        assertThat(membersOf("odd")).hasSize(5);
+        assertThat(membersOf("one")).hasSize(1);
+    }
+
+    @Test
+    public void teamCreation() throws IOException {
+        em.persist(new Team("existingTeam"));
+        em.flush();
+        em.clear();
+
+        EntityStatistics teamStatistics = emf.unwrap(SessionFactory.class).getStatistics()
+                .getEntityStatistics(Team.class.getName());
+        long teamReads = teamStatistics.getLoadCount() + teamStatistics.getCacheHitCount();
+
+        MemberImportResult result = importCsv("member1,10,existingTeam\n"
+                + "member2,20,newTeam\n"
+                + "member3,30,existingTeam\n"
+                + "member4,40,newTeam\n"
+                + "member5,50,\n"
+                + "member6,60,existingTeam\n");
+
+        assertThat(result.getImported()).isEqualTo(6);
+        // 이름별로 팀을 한 번만 만들고, 기존 팀은 다시 만들지 않음
+        assertThat(teamsNamed("existingTeam")).hasSize(1);
+        assertThat(teamsNamed("newTeam")).hasSize(1);
+        assertThat(membersOf("existingTeam")).extracting("username").containsExactlyInAnyOrder("member1", "member3", "member6");
+        assertThat(membersOf("newTeam")).extracting("username").containsExactlyInAnyOrder("member2", "member4");
+        assertThat(em.createQuery("select m from Member m where m.username = 'member5'", Member.class)
+                .getSingleResult().getTeam()).isNull();
+        // 기존 팀 이름 → id 조회 한 번 외에는 chunk(3개)마다 팀 프록시를 초기화하지 않음
+        assertThat(teamStatistics.getLoadCount() + teamStatistics.getCacheHitCount() - teamReads).isLessThanOrEqualTo(1);
+    }
+
+    private MemberImportResult importCsv(String csv) throws IOException {
+        MemberImportResult result = memberImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        em.clear();
+        return result;
+    }
+
+    private List<Member> membersOf(String teamName) {
+        return em.createQuery("select m from Member m join m.team t where t.name = :name", Member.class)
+                .setParameter("name", teamName)
+                .getResultList();
+    }
+
+    private List<Team> teamsNamed(String name) {
+        return em.createQuery("select t from Team t where t.name = :name", Team.class)
+                .setParameter("name", name)
+                .getResultList();
+    }
+
+    private static String rows(String teamName, int count) {
+        StringBuilder csv = new StringBuilder("username,age,teamName\n");
+        for (int i = 1; i <= count; i++) {
+            csv.append(teamName).append("-member").append(i).append(',').append(i).append(',').append(teamName).append('\n');
+        }
+        return csv.toString();
+    }
+}
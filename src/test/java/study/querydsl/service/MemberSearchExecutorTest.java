@@ -0,0 +1,94 @@
+package study.querydsl.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemberSearchExecutorTest {
+
+    MemberSearchExecutor executor;
+
+    @AfterEach
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void complete() {
+        executor = new MemberSearchExecutor(new SimpleMeterRegistry(), 1, 1, Duration.ofSeconds(5));
+
+        assertThat(executor.submit(() -> "result").join()).isEqualTo("result");
+        // 검색 중 발생한 예외는 그대로 전달
+        assertThatThrownBy(() -> executor.submit(() -> {
+            throw new IllegalArgumentException("bad condition");
+        }).join()).hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void rejectWhenQueueIsFull() {
+        executor = new MemberSearchExecutor(new SimpleMeterRegistry(), 1, 1, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 스레드 1개 실행 중 + 큐 1개 대기 → 세 번째는 거절
+        CompletableFuture<String> running = executor.submit(() -> await(release));
+        CompletableFuture<String> queued = executor.submit(() -> await(release));
+        CompletableFuture<String> rejected = executor.submit(() -> await(release));
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertServiceUnavailable(rejected);
+
+        release.countDown();
+        assertThat(running.join()).isEqualTo("released");
+        assertThat(queued.join()).isEqualTo("released");
+    }
+
+    @Test
+    public void timeout() throws InterruptedException {
+        executor = new MemberSearchExecutor(new SimpleMeterRegistry(), 1, 1, Duration.ofMillis(100));
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        CompletableFuture<String> result = executor.submit(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        });
+
+        assertServiceUnavailable(result);
+        // timeout 이 나면 실행 중인 작업도 인터럽트해서 스레드를 돌려받음
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void assertServiceUnavailable(CompletableFuture<?> result) {
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .getCause()
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatus())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private static String await(CountDownLatch release) {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "released";
+    }
+}
@@ -0,0 +1,59 @@
+package study.querydsl.support;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+/**
+ * 커밋된 데이터가 필요한 테스트용 팀/회원 데이터.
+ * 다른 스레드에서 조회하거나(비동기 검색, 병렬 count), 커밋 전 쓰기가 있으면 동작하지 않는 기능(결과/count 캐시)은
+ * 테스트 트랜잭션(@Transactional 롤백)으로 확인할 수 없으므로 직접 커밋하고, 끝나면 delete() 로 지운다.
+ * 다른 테스트의 데이터와 섞이지 않도록 테스트 클래스마다 다른 팀 이름을 사용한다.
+ */
+public class CommittedTeamFixture {
+
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final String teamName;
+
+    public CommittedTeamFixture(EntityManager em, PlatformTransactionManager transactionManager, String teamName) {
+        this.em = em;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.teamName = teamName;
+    }
+
+    /**
+     * 팀과 회원 member1(10), member2(20), ... 을 만들고 커밋한다.
+     * 반환한 팀은 준영속 상태이고, getMembers() 로 만든 회원(id 포함)을 볼 수 있다.
+     */
+    public Team create(int members) {
+        return tx.execute(status -> {
+            Team team = new Team(teamName);
+            em.persist(team);
+            for (int i = 1; i <= members; i++) {
+                em.persist(new Member("member" + i, i * 10, team));
+            }
+            return team;
+        });
+    }
+
+    /**
+     * 이 팀의 회원, team_stats, 팀 순으로 지운다. (만들지 않았으면 아무 일도 없음)
+     */
+    public void delete() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id in (select t.id from Team t where t.name = :name)")
+                    .setParameter("name", teamName)
+                    .executeUpdate();
+            em.createNativeQuery("delete from team_stats where team_id in (select team_id from team where name = ?)")
+                    .setParameter(1, teamName)
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.name = :name")
+                    .setParameter("name", teamName)
+                    .executeUpdate();
+        });
+    }
+}
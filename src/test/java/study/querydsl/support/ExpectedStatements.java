@@ -0,0 +1,29 @@
+package study.querydsl.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 테스트 메서드에서 실행된 SQL 수를 검증한다. (N+1 회귀 방지)
+ * - SqlStatementInspector 가 현재 스레드에서 집계한 값을 사용
+ * - 지정하지 않은 항목(-1)은 검사하지 않음
+ * - insert/update/delete 는 JDBC batch 단위로 센다. (batch 하나 = 1)
+ * ex) @ExpectedStatements(select = 1)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(ExpectedStatementsExtension.class)
+public @interface ExpectedStatements {
+
+    int select() default -1;
+
+    int insert() default -1;
+
+    int update() default -1;
+
+    int delete() default -1;
+}
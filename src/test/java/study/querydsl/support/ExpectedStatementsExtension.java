@@ -0,0 +1,47 @@
+package study.querydsl.support;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import static study.querydsl.support.SqlStatementCounter.Type;
+
+/**
+ * 테스트 메서드 본문(@BeforeEach 제외)에서 실행된 SQL 수를 @ExpectedStatements 와 비교한다.
+ */
+class ExpectedStatementsExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        SqlStatementCounter.reset();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        ExpectedStatements expected = AnnotationSupport
+                .findAnnotation(context.getRequiredTestMethod(), ExpectedStatements.class)
+                .orElse(null);
+        if (expected == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        StringBuilder failures = new StringBuilder();
+        check(failures, Type.SELECT, expected.select());
+        check(failures, Type.INSERT, expected.insert());
+        check(failures, Type.UPDATE, expected.update());
+        check(failures, Type.DELETE, expected.delete());
+        if (failures.length() > 0) {
+            throw new AssertionError("unexpected SQL statement count in "
+                    + context.getRequiredTestMethod().getName() + ":" + failures);
+        }
+    }
+
+    private static void check(StringBuilder failures, Type type, int expected) {
+        long actual = SqlStatementCounter.get(type);
+        if (expected >= 0 && actual != expected) {
+            failures.append(' ').append(type.name().toLowerCase())
+                    .append(" expected ").append(expected).append(" but was ").append(actual);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package study.querydsl.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberQueryRepository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class IndexAdvisorTest {
+
+    @Autowired
+    IndexAdvisor indexAdvisor;
+
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @Test
+    public void reportUnindexedFilters() {
+        // username 은 인덱스가 있고, age 만 단독으로 걸면 (team_id, age) 인덱스를 탈 수 없음
+        // 어드바이저는 테스트 컨텍스트에서 공유되므로 다른 테스트가 기록한 shape 와 섞이지 않게 컬럼 조합이 정확히 같은 것만 봄
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+        condition.setAgeGoe(10);
+        memberQueryRepository.search(condition);
+
+        List<IndexAdvisor.IndexAdvice> report = indexAdvisor.report();
+
+        IndexAdvisor.IndexAdvice advice = report.stream()
+                .filter(a -> a.getTable().equals("member")
+                        && Set.copyOf(a.getFilteredColumns()).equals(Set.of("age", "username"))
+                        && a.getSortedColumns().isEmpty())
+                .findFirst()
+                .orElseThrow();
+        assertThat(advice.getFilteredColumns()).containsExactly("age", "username");
+        assertThat(advice.getUnindexedFilters()).containsExactly("age");
+    }
+}
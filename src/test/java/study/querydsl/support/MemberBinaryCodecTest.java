@@ -0,0 +1,115 @@
+package study.querydsl.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemberBinaryCodecTest {
+
+    @Test
+    public void roundTripList() throws Exception {
+        List<MemberTeamDto> rows = List.of(
+                new MemberTeamDto(1L, "member1", 10, 1L, "teamA"),
+                new MemberTeamDto(2L, "회원2", 0, 2L, "팀B"),
+                new MemberTeamDto(3L, "emoji😀", -5, 1L, "teamA"),
+                new MemberTeamDto(Long.MAX_VALUE - 1, null, Integer.MIN_VALUE, null, null)
+        );
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MemberBinaryCodec.encode(rows, out);
+        List<MemberTeamDto> decoded = MemberBinaryCodec.decodeList(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(decoded).isEqualTo(rows);
+        // 같은 팀 이름은 하나의 인스턴스를 공유
+        assertThat(decoded.get(2).getTeamName()).isSameAs(decoded.get(0).getTeamName());
+    }
+
+    @Test
+    public void roundTripPage() throws Exception {
+        // 인코딩 버퍼(8KB)보다 큰 응답
+        List<MemberTeamDto> content = new ArrayList<>();
+        for (int i = 1; i <= 10_000; i++) {
+            long teamId = i % 10 + 1;
+            content.add(new MemberTeamDto((long) i, "member" + i, i % 100, teamId, "team" + teamId));
+        }
+        Page<MemberTeamDto> page = new PageImpl<>(content, PageRequest.of(3, 10_000), 100_000);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MemberBinaryCodec.encode(page, out);
+        Page<MemberTeamDto> decoded = MemberBinaryCodec.decodePage(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(decoded.getNumber()).isEqualTo(3);
+        assertThat(decoded.getSize()).isEqualTo(10_000);
+        assertThat(decoded.getTotalElements()).isEqualTo(100_000);
+        assertThat(decoded.getContent()).isEqualTo(content);
+    }
+
+    @Test
+    public void longStringLargerThanBuffer() throws Exception {
+        String username = "가".repeat(10_000); // UTF-8 30,000 bytes
+        List<MemberTeamDto> rows = List.of(new MemberTeamDto(1L, username, 10, null, null));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MemberBinaryCodec.encode(rows, out);
+
+        assertThat(MemberBinaryCodec.decodeList(new ByteArrayInputStream(out.toByteArray())))
+                .extracting(MemberTeamDto::getUsername).containsExactly(username);
+    }
+
+    @Test
+    public void truncatedInput() throws Exception {
+        List<MemberTeamDto> rows = List.of(
+                new MemberTeamDto(1L, "member1", 10, 1L, "teamA"),
+                new MemberTeamDto(2L, "member2", 20, 1L, "teamA"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MemberBinaryCodec.encode(new PageImpl<>(rows, PageRequest.of(0, 10), 2), out);
+        byte[] bytes = out.toByteArray();
+
+        // 어디에서 잘려도 IOException (IndexOutOfBounds 등 unchecked 예외가 아님)
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThatThrownBy(() -> MemberBinaryCodec.decodePage(new ByteArrayInputStream(truncated)))
+                    .as("length %d", length)
+                    .isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    public void corruptInput() {
+        // 지원하지 않는 버전
+        assertCorrupt(2, 0, 0);
+        // 존재하지 않는 팀 번호 (팀이 하나도 나오지 않았는데 2번 팀)
+        assertCorrupt(1, 0, 1, 2, 1, 10, 2);
+        // count 가 매우 크지만 데이터는 없음 → 미리 할당하지 않고 EOF
+        assertCorrupt(1, 0, 0xFF, 0xFF, 0xFF, 0xFF, 0x07);
+        // int 범위를 넘는 count
+        assertCorrupt(1, 0, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+        // username 길이가 매우 큼 (약 2GB)
+        assertCorrupt(1, 0, 1, 2, 0xFF, 0xFF, 0xFF, 0xFF, 0x07);
+        // age 가 int 범위를 넘음
+        assertCorrupt(1, 0, 1, 2, 1, 0xFF, 0xFF, 0xFF, 0xFF, 0x1F, 0);
+        // 11 바이트 이상 이어지는 varint
+        assertCorrupt(1, 0, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x01);
+    }
+
+    private static void assertCorrupt(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        assertThatThrownBy(() -> MemberBinaryCodec.decodePage(new ByteArrayInputStream(bytes)))
+                .isInstanceOf(IOException.class);
+    }
+}
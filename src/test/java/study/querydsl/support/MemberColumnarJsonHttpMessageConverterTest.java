@@ -0,0 +1,59 @@
+package study.querydsl.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberColumnarJsonHttpMessageConverterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    MemberColumnarJsonHttpMessageConverter converter = new MemberColumnarJsonHttpMessageConverter(objectMapper);
+
+    @Test
+    public void writePageColumnWise() throws Exception {
+        Page<MemberTeamDto> page = new PageImpl<>(List.of(
+                new MemberTeamDto(1L, "member1", 10, 1L, "teamA"),
+                new MemberTeamDto(2L, "member2", 20, 2L, "teamB"),
+                new MemberTeamDto(3L, "member3", 30, 1L, "teamA"),
+                new MemberTeamDto(4L, "member4", 40, null, null)
+        ), PageRequest.of(0, 4), 10);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.write(page, out);
+        JsonNode json = objectMapper.readTree(out.toByteArray());
+
+        assertThat(json.get("page").get("totalElements").asLong()).isEqualTo(10);
+        assertThat(json.get("memberId").toString()).isEqualTo("[1,2,3,4]");
+        assertThat(json.get("username").toString()).isEqualTo("[\"member1\",\"member2\",\"member3\",\"member4\"]");
+        assertThat(json.get("age").toString()).isEqualTo("[10,20,30,40]");
+        // 팀은 사전에 한 번씩만, 팀이 없으면 -1
+        assertThat(json.get("team").toString()).isEqualTo("[0,1,0,-1]");
+        assertThat(json.get("teams").get("teamId").toString()).isEqualTo("[1,2]");
+        assertThat(json.get("teams").get("teamName").toString()).isEqualTo("[\"teamA\",\"teamB\"]");
+    }
+
+    @Test
+    public void onlyForExplicitMediaType() throws Exception {
+        Type pageType = getClass().getDeclaredMethod("page").getGenericReturnType();
+
+        assertThat(converter.canWrite(pageType, PageImpl.class, MemberColumnarJsonHttpMessageConverter.COLUMNAR_JSON)).isTrue();
+        assertThat(converter.canWrite(pageType, PageImpl.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(pageType, PageImpl.class, null)).isFalse();
+    }
+
+    @SuppressWarnings("unused")
+    private Page<MemberTeamDto> page() {
+        return null;
+    }
+}
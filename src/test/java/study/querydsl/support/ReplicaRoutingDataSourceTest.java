@@ -0,0 +1,50 @@
+package study.querydsl.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:primary", "sa", "");
+    DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replica", "sa", "");
+
+    @Test
+    public void routeByReadOnly() {
+        DataSource dataSource = routing(new DataVersion(), Duration.ZERO);
+
+        assertThat(connectedUrl(dataSource, false)).isEqualTo("jdbc:h2:mem:primary");
+        assertThat(connectedUrl(dataSource, true)).isEqualTo("jdbc:h2:mem:replica");
+    }
+
+    @Test
+    public void routeToPrimaryWithinMaxLag() {
+        DataVersion dataVersion = new DataVersion();
+        DataSource dataSource = routing(dataVersion, Duration.ofMinutes(1));
+        assertThat(connectedUrl(dataSource, true)).isEqualTo("jdbc:h2:mem:replica");
+
+        // 방금 쓰기가 있었으면 읽기 전용이어도 프라이머리
+        dataVersion.bumpOnWrite();
+        assertThat(connectedUrl(dataSource, true)).isEqualTo("jdbc:h2:mem:primary");
+    }
+
+    private DataSource routing(DataVersion dataVersion, Duration maxLag) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, dataVersion, maxLag));
+    }
+
+    private String connectedUrl(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(dataSource)
+                .execute((ConnectionCallback<String>) con -> con.getMetaData().getURL()));
+    }
+}
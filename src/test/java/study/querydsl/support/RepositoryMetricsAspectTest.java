@@ -0,0 +1,86 @@
+package study.querydsl.support;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class RepositoryMetricsAspectTest {
+
+    private static final String SEARCH = "MemberJpaRepository.search";
+    private static final String FIND_BY_ID = "MemberJpaRepository.findById";
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Test
+    public void recordPerMethodAndShape() {
+        Team teamA = new Team("metricsTeam");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("metricsTeam");
+        condition.setAgeGoe(10);
+
+        long searches = timerCount(SEARCH, "teamName+ageGoe", "success");
+        double rows = summaryTotal("member.repository.rows", SEARCH, "teamName+ageGoe");
+        double statements = summaryTotal("member.repository.statements", SEARCH, "teamName+ageGoe");
+
+        assertThat(memberJpaRepository.search(condition)).hasSize(2);
+
+        assertThat(timerCount(SEARCH, "teamName+ageGoe", "success")).isEqualTo(searches + 1);
+        assertThat(summaryTotal("member.repository.rows", SEARCH, "teamName+ageGoe")).isEqualTo(rows + 2);
+        assertThat(summaryTotal("member.repository.statements", SEARCH, "teamName+ageGoe")).isEqualTo(statements + 1);
+    }
+
+    @Test
+    public void recordErrorOutcome() {
+        long errors = timerCount(FIND_BY_ID, "-", "error");
+
+        // 조건 객체가 없는 메서드는 shape "-", 예외가 나면 outcome=error
+        assertThatThrownBy(() -> memberJpaRepository.findById(null)).isInstanceOf(RuntimeException.class);
+
+        assertThat(timerCount(FIND_BY_ID, "-", "error")).isEqualTo(errors + 1);
+    }
+
+    private long timerCount(String method, String shape, String outcome) {
+        Timer timer = meterRegistry.find("member.repository")
+                .tag("method", method)
+                .tag("shape", shape)
+                .tag("outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double summaryTotal(String name, String method, String shape) {
+        DistributionSummary summary = meterRegistry.find(name)
+                .tag("method", method)
+                .tag("shape", shape)
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
@@ -0,0 +1,45 @@
+package study.querydsl.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SampledSqlLoggerTest {
+
+    private static final String SQL = "select * from member where member_id = ?";
+
+    @Test
+    public void sampleRate() throws InterruptedException {
+        SampledSqlLogger logger = new SampledSqlLogger(0.1, Duration.ofHours(1), 1024);
+        // 로그 스레드를 먼저 멈춰서 버퍼에 쌓이는 그대로 확인
+        logger.close();
+
+        for (int i = 0; i < 100_000; i++) {
+            logger.onExecute(SQL, 1_000);
+        }
+
+        assertThat(logger.sampled()).isBetween(9_000L, 11_000L);
+        // 꺼내 가는 스레드가 없으면 버퍼 크기만큼만 들어가고 나머지는 버림
+        assertThat(logger.dropped()).isEqualTo(logger.sampled() - 1024);
+    }
+
+    @Test
+    public void slowSqlIsAlwaysLogged() throws InterruptedException {
+        SampledSqlLogger logger = new SampledSqlLogger(0, Duration.ofMillis(1), 16);
+        logger.close();
+
+        for (int i = 0; i < 1_000; i++) {
+            logger.onExecute(SQL, TimeUnit.MICROSECONDS.toNanos(500));
+        }
+        assertThat(logger.sampled()).isZero();
+
+        for (int i = 0; i < 10; i++) {
+            logger.onExecute(SQL, TimeUnit.MILLISECONDS.toNanos(2));
+        }
+        assertThat(logger.sampled()).isEqualTo(10);
+        assertThat(logger.dropped()).isZero();
+    }
+}
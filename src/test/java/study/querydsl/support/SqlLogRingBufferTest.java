@@ -0,0 +1,39 @@
+package study.querydsl.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlLogRingBufferTest {
+
+    @Test
+    public void offerAndPollInOrder() {
+        SqlLogRingBuffer<String> buffer = new SqlLogRingBuffer<>(4);
+
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("b")).isTrue();
+
+        assertThat(buffer.poll()).isEqualTo("a");
+        assertThat(buffer.poll()).isEqualTo("b");
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    public void dropWhenFull() {
+        SqlLogRingBuffer<String> buffer = new SqlLogRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer("sql" + i)).isTrue();
+        }
+
+        assertThat(buffer.offer("overflow")).isFalse();
+        assertThat(buffer.dropped()).isEqualTo(1);
+
+        // 한 칸 비우면 다시 들어감 (wrap-around)
+        assertThat(buffer.poll()).isEqualTo("sql0");
+        assertThat(buffer.offer("sql4")).isTrue();
+        assertThat(buffer.poll()).isEqualTo("sql1");
+        assertThat(buffer.poll()).isEqualTo("sql2");
+        assertThat(buffer.poll()).isEqualTo("sql3");
+        assertThat(buffer.poll()).isEqualTo("sql4");
+    }
+}